@@ -0,0 +1,78 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.FileConverter;
+import com.fileconverter.model.ConversionOptions;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Base dos benchmarks: converte a entrada gerada em memória para um stream que só conta bytes
+ *
+ * Mede throughput e a distribuição de latência (SampleTime); a taxa de
+ * alocação vem do profiler de GC (-prof gc), habilitado em "mvn verify".
+ * Cada subclasse define o conversor, os tamanhos e os formatos da entrada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// add-opens: exigido pelo Arrow (CSV -> Arrow) no JDK 17
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-opens=java.base/java.nio=ALL-UNNAMED"})
+public abstract class ConverterBenchmark {
+
+    private FileConverter converter;
+    private byte[] input;
+    private ConversionOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        converter = createConverter(new ConverterProperties());
+        input = createInput();
+        // Como no FileConversionService, o conversor recebe o tamanho da entrada
+        options = options().toBuilder().inputSize(input.length).build();
+    }
+
+    @Benchmark
+    public long convert() throws Exception {
+        CountingOutputStream output = new CountingOutputStream();
+        converter.convert(new ByteArrayInputStream(input), output, options);
+        return output.count;
+    }
+
+    protected FileConverter getConverter() {
+        return converter;
+    }
+
+    protected abstract FileConverter createConverter(ConverterProperties properties);
+
+    /**
+     * Opções passadas ao conversor; subclasses com saída JSON/XML variam a opção compact
+     */
+    protected ConversionOptions options() {
+        return ConversionOptions.defaults();
+    }
+
+    protected abstract byte[] createInput() throws Exception;
+
+    /**
+     * Descarta a saída contando os bytes, para o resultado não ser eliminado pelo JIT
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.CsvToArrowConverter;
+import com.fileconverter.converter.FileConverter;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * CSV para Arrow; as colunas geradas cobrem inteiro, decimal, booleano e texto
+ */
+public class CsvToArrowBenchmark extends ConverterBenchmark {
+
+    @Param({"1KB", "1MB", "10MB"})
+    public String size;
+
+    @Param({"NARROW", "WIDE"})
+    public InputGenerator.Columns shape;
+
+    @Override
+    protected FileConverter createConverter(ConverterProperties properties) {
+        return new CsvToArrowConverter(properties);
+    }
+
+    @Override
+    protected byte[] createInput() throws Exception {
+        return InputGenerator.csv(size, shape);
+    }
+}
@@ -0,0 +1,33 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.CsvToExcelConverter;
+import com.fileconverter.converter.FileConverter;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * CSV para Excel; 100MB pode ser pedido com -p size=100MB
+ */
+public class CsvToExcelBenchmark extends ConverterBenchmark {
+
+    @Param({"1KB", "1MB", "10MB"})
+    public String size;
+
+    @Param({"NARROW", "WIDE"})
+    public InputGenerator.Columns shape;
+
+    /** false lê o CSV pelo commons-csv, para comparar com o CsvTokenizer */
+    @Param({"true", "false"})
+    public boolean byteTokenizer;
+
+    @Override
+    protected FileConverter createConverter(ConverterProperties properties) {
+        properties.getCsv().setByteTokenizer(byteTokenizer);
+        return new CsvToExcelConverter(properties);
+    }
+
+    @Override
+    protected byte[] createInput() throws Exception {
+        return InputGenerator.csv(size, shape);
+    }
+}
@@ -0,0 +1,50 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.CsvToJsonConverter;
+import com.fileconverter.converter.FileConverter;
+import com.fileconverter.converter.JacksonCodecs;
+import com.fileconverter.model.ConversionOptions;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * CSV para JSON; entradas acima de converter.csv-to-json.parallel-threshold usam o modo paralelo
+ */
+public class CsvToJsonBenchmark extends ConverterBenchmark {
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    @Param({"NARROW", "WIDE"})
+    public InputGenerator.Columns shape;
+
+    /** false lê o CSV pelo commons-csv, para comparar com o CsvTokenizer */
+    @Param({"true", "false"})
+    public boolean byteTokenizer;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    @Override
+    protected FileConverter createConverter(ConverterProperties properties) {
+        properties.getCsv().setByteTokenizer(byteTokenizer);
+        return new CsvToJsonConverter(properties, new JacksonCodecs());
+    }
+
+    @Override
+    protected ConversionOptions options() {
+        return ConversionOptions.builder().compact(compact).build();
+    }
+
+    @Override
+    protected byte[] createInput() throws Exception {
+        return InputGenerator.csv(size, shape);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownPool() {
+        ((CsvToJsonConverter) getConverter()).shutdown();
+    }
+}
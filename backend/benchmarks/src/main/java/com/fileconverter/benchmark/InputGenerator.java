@@ -0,0 +1,178 @@
+package com.fileconverter.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Gera entradas sintéticas e determinísticas com o tamanho aproximado pedido
+ *
+ * Os registros são repetidos até passar do tamanho alvo, de modo que o
+ * mesmo tamanho e formato produzem sempre os mesmos bytes, em qualquer
+ * máquina e sem arquivos externos.
+ */
+public final class InputGenerator {
+
+    /** Níveis de aninhamento dos registros JSON/XML profundos */
+    static final int DEEP_LEVELS = 8;
+
+    private InputGenerator() {
+    }
+
+    /**
+     * CSV com cabeçalho; um em cada dez textos tem vírgula e aspas
+     */
+    static byte[] csv(String size, Columns shape) {
+        int columns = shape.count;
+        long target = DataSize.parse(size).toBytes();
+        StringBuilder csv = new StringBuilder((int) Math.min(target + 1024, Integer.MAX_VALUE - 8));
+
+        for (int column = 0; column < columns; column++) {
+            csv.append(column == 0 ? "" : ",").append("col").append(column);
+        }
+        csv.append('\n');
+
+        for (long row = 0; csv.length() < target; row++) {
+            for (int column = 0; column < columns; column++) {
+                if (column > 0) {
+                    csv.append(',');
+                }
+                appendCsvValue(csv, row, column);
+            }
+            csv.append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Array JSON de objetos, planos ou com DEEP_LEVELS níveis de objetos aninhados
+     */
+    static byte[] json(String size, Shape shape) throws IOException {
+        long target = DataSize.parse(size).toBytes();
+        ByteArrayOutputStream json = new ByteArrayOutputStream((int) Math.min(target + 1024, Integer.MAX_VALUE - 8));
+
+        try (JsonGenerator generator = new JsonFactory().createGenerator(json)) {
+            generator.writeStartArray();
+            for (long row = 0; json.size() < target; row++) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", row);
+                if (shape == Shape.DEEP) {
+                    for (int level = 0; level < DEEP_LEVELS; level++) {
+                        generator.writeObjectFieldStart("level" + level);
+                        generator.writeStringField("name", "node-" + row + "-" + level);
+                    }
+                    writeFlatFields(generator, row);
+                    for (int level = 0; level < DEEP_LEVELS; level++) {
+                        generator.writeEndObject();
+                    }
+                } else {
+                    writeFlatFields(generator, row);
+                }
+                generator.writeEndObject();
+                generator.flush();
+            }
+            generator.writeEndArray();
+        }
+        return json.toByteArray();
+    }
+
+    /**
+     * Documento XML com um elemento "record" por registro, plano ou aninhado
+     */
+    static byte[] xml(String size, Shape shape) {
+        long target = DataSize.parse(size).toBytes();
+        StringBuilder xml = new StringBuilder((int) Math.min(target + 1024, Integer.MAX_VALUE - 8));
+
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<records>\n");
+        for (long row = 0; xml.length() < target; row++) {
+            xml.append("  <record id=\"").append(row).append("\">");
+            if (shape == Shape.DEEP) {
+                for (int level = 0; level < DEEP_LEVELS; level++) {
+                    xml.append("<level").append(level).append(" name=\"node-").append(row).append('-')
+                            .append(level).append("\">");
+                }
+                appendXmlFields(xml, row);
+                for (int level = DEEP_LEVELS - 1; level >= 0; level--) {
+                    xml.append("</level").append(level).append('>');
+                }
+            } else {
+                appendXmlFields(xml, row);
+            }
+            xml.append("</record>\n");
+        }
+        xml.append("</records>\n");
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Texto simples com linhas de tamanhos variados
+     */
+    static byte[] text(String size) {
+        long target = DataSize.parse(size).toBytes();
+        StringBuilder text = new StringBuilder((int) Math.min(target + 1024, Integer.MAX_VALUE - 8));
+
+        for (long line = 0; text.length() < target; line++) {
+            text.append("Line ").append(line).append(':');
+            for (int word = 0; word < line % 16; word++) {
+                text.append(" lorem ipsum dolor");
+            }
+            text.append('\n');
+        }
+        return text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendCsvValue(StringBuilder csv, long row, int column) {
+        switch (column % 4) {
+            case 0 -> csv.append(row);
+            case 1 -> csv.append(row % 1000).append('.').append(column);
+            case 2 -> csv.append(row % 2 == 0 ? "true" : "false");
+            default -> {
+                if (row % 10 == 0) {
+                    csv.append("\"text, with \"\"quotes\"\" ").append(row).append('"');
+                } else {
+                    csv.append("text-").append(row);
+                }
+            }
+        }
+    }
+
+    private static void writeFlatFields(JsonGenerator generator, long row) throws IOException {
+        generator.writeStringField("name", "Product " + row);
+        generator.writeNumberField("price", (row % 10000) / 100.0);
+        generator.writeBooleanField("active", row % 2 == 0);
+        generator.writeStringField("description", "Item number " + row + ", \"quoted\" & <escaped>");
+    }
+
+    private static void appendXmlFields(StringBuilder xml, long row) {
+        xml.append("<name>Product ").append(row).append("</name>")
+                .append("<price>").append((row % 10000) / 100.0).append("</price>")
+                .append("<active>").append(row % 2 == 0).append("</active>")
+                .append("<description>Item number ").append(row).append(", &quot;quoted&quot; &amp; &lt;escaped&gt;</description>");
+    }
+
+    /**
+     * Largura do CSV
+     */
+    public enum Columns {
+        NARROW(4),
+        WIDE(64);
+
+        private final int count;
+
+        Columns(int count) {
+            this.count = count;
+        }
+    }
+
+    /**
+     * Formato dos registros JSON/XML
+     */
+    public enum Shape {
+        FLAT,
+        DEEP
+    }
+}
@@ -0,0 +1,29 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.FileConverter;
+import com.fileconverter.converter.JacksonCodecs;
+import com.fileconverter.converter.JsonToCsvConverter;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * JSON para CSV; registros DEEP viram células com o objeto aninhado
+ */
+public class JsonToCsvBenchmark extends ConverterBenchmark {
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    @Param({"FLAT", "DEEP"})
+    public InputGenerator.Shape shape;
+
+    @Override
+    protected FileConverter createConverter(ConverterProperties properties) {
+        return new JsonToCsvConverter(properties, new JacksonCodecs());
+    }
+
+    @Override
+    protected byte[] createInput() throws Exception {
+        return InputGenerator.json(size, shape);
+    }
+}
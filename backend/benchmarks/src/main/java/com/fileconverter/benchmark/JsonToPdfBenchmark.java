@@ -0,0 +1,29 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.FileConverter;
+import com.fileconverter.converter.JacksonCodecs;
+import com.fileconverter.converter.JsonToPdfConverter;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * JSON para PDF; 100MB pode ser pedido com -p size=100MB
+ */
+public class JsonToPdfBenchmark extends ConverterBenchmark {
+
+    @Param({"1KB", "1MB", "10MB"})
+    public String size;
+
+    @Param({"FLAT", "DEEP"})
+    public InputGenerator.Shape shape;
+
+    @Override
+    protected FileConverter createConverter(ConverterProperties properties) {
+        return new JsonToPdfConverter(properties, new JacksonCodecs());
+    }
+
+    @Override
+    protected byte[] createInput() throws Exception {
+        return InputGenerator.json(size, shape);
+    }
+}
@@ -0,0 +1,38 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.FileConverter;
+import com.fileconverter.converter.JacksonCodecs;
+import com.fileconverter.converter.JsonToXmlConverter;
+import com.fileconverter.model.ConversionOptions;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * JSON para XML
+ */
+public class JsonToXmlBenchmark extends ConverterBenchmark {
+
+    @Param({"1KB", "1MB", "100MB"})
+    public String size;
+
+    @Param({"FLAT", "DEEP"})
+    public InputGenerator.Shape shape;
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    @Override
+    protected FileConverter createConverter(ConverterProperties properties) {
+        return new JsonToXmlConverter(properties, new JacksonCodecs());
+    }
+
+    @Override
+    protected ConversionOptions options() {
+        return ConversionOptions.builder().compact(compact).build();
+    }
+
+    @Override
+    protected byte[] createInput() throws Exception {
+        return InputGenerator.json(size, shape);
+    }
+}
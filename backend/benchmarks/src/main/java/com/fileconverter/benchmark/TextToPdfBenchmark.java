@@ -0,0 +1,30 @@
+package com.fileconverter.benchmark;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.converter.FileConverter;
+import com.fileconverter.converter.TextToPdfConverter;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Texto para PDF; 100MB pode ser pedido com -p size=100MB
+ */
+public class TextToPdfBenchmark extends ConverterBenchmark {
+
+    @Param({"1KB", "1MB", "10MB"})
+    public String size;
+
+    /** false usa um Paragraph por linha, para comparar com o modo rápido */
+    @Param({"true", "false"})
+    public boolean fastMode;
+
+    @Override
+    protected FileConverter createConverter(ConverterProperties properties) {
+        properties.getTextToPdf().setFastMode(fastMode);
+        return new TextToPdfConverter(properties);
+    }
+
+    @Override
+    protected byte[] createInput() throws Exception {
+        return InputGenerator.text(size);
+    }
+}
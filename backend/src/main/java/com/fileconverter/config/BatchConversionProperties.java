@@ -0,0 +1,35 @@
+package com.fileconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propriedades das conversões em lote (prefixo "conversion.batch")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "conversion.batch")
+public class BatchConversionProperties {
+
+    /**
+     * Threads do ForkJoinPool que converte as entradas
+     */
+    private int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Entradas lidas e ainda não gravadas no ZIP de saída, por lote; limita a memória
+     */
+    private int maxInFlight = 8;
+
+    /**
+     * Número máximo de entradas por lote
+     */
+    private int maxEntries = 10000;
+
+    /**
+     * Tamanho máximo de cada entrada do ZIP
+     */
+    private DataSize maxEntrySize = DataSize.ofMegabytes(10);
+}
@@ -0,0 +1,33 @@
+package com.fileconverter.config;
+
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Página de erro para respostas já comprometidas
+ *
+ * Quando uma conversão em streaming falha depois do primeiro bloco, o
+ * GlobalExceptionHandler relança a exceção e o container encerra a conexão
+ * sem o chunk final. Antes disso o container ainda inclui a página de erro
+ * (/error) no corpo; este interceptor impede que ela escreva algo, de modo
+ * que o cliente recebe só a saída parcial e a conexão interrompida.
+ */
+@Configuration
+public class CommittedResponseErrorConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                // Com a resposta comprometida o container inclui a página de erro (include, não forward)
+                return !response.isCommitted() || request.getAttribute(RequestDispatcher.ERROR_REQUEST_URI) == null;
+            }
+        });
+    }
+}
@@ -0,0 +1,25 @@
+package com.fileconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propriedades da entrada comprimida (prefixo "conversion.compressed-input")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "conversion.compressed-input")
+public class CompressedInputProperties {
+
+    /**
+     * Detecta gzip pelos primeiros bytes e descomprime durante a conversão
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tamanho máximo da entrada depois de descomprimida
+     */
+    private DataSize maxInflatedSize = DataSize.ofGigabytes(4);
+}
@@ -0,0 +1,43 @@
+package com.fileconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propriedades do cache de resultados de conversão (prefixo "conversion.cache")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "conversion.cache")
+public class ConversionCacheProperties {
+
+    /**
+     * Liga o cache e a junção de conversões idênticas em andamento
+     */
+    private boolean enabled = true;
+
+    /**
+     * Número máximo de resultados no cache
+     */
+    private int maxEntries = 1000;
+
+    /**
+     * Tempo que um resultado fica no cache
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Política de remoção quando o cache está cheio
+     */
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+    public enum EvictionPolicy {
+        /** Remove o resultado usado há mais tempo */
+        LRU,
+        /** Remove o resultado mais antigo */
+        FIFO
+    }
+}
@@ -0,0 +1,41 @@
+package com.fileconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Propriedades dos jobs de conversão assíncrona (prefixo "conversion.jobs")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "conversion.jobs")
+public class ConversionJobProperties {
+
+    /**
+     * Threads mantidas no pool de conversão
+     */
+    private int corePoolSize = 2;
+
+    /**
+     * Número máximo de conversões simultâneas
+     */
+    private int maxPoolSize = 4;
+
+    /**
+     * Jobs aguardando execução; acima disso novos jobs são rejeitados
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Tempo que um job finalizado (e seu resultado) fica disponível
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Valor do cabeçalho Retry-After quando a fila está cheia
+     */
+    private Duration retryAfter = Duration.ofSeconds(5);
+}
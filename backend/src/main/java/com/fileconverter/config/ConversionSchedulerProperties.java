@@ -0,0 +1,80 @@
+package com.fileconverter.config;
+
+import com.fileconverter.model.ConversionType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Propriedades do controle de admissão das conversões (prefixo "conversion.scheduler")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "conversion.scheduler")
+public class ConversionSchedulerProperties {
+
+    /**
+     * Liga o controle de admissão; desligado, todas as conversões são aceitas
+     */
+    private boolean enabled = true;
+
+    /**
+     * Conversões simultâneas por tipo quando o tipo não aparece em "concurrency"
+     */
+    private int defaultConcurrency = 4;
+
+    /**
+     * Conversões simultâneas por tipo de conversão
+     */
+    private Map<ConversionType, Integer> concurrency = new EnumMap<>(ConversionType.class);
+
+    /**
+     * Entradas até este tamanho usam a faixa rápida, separada dos limites por tipo
+     */
+    private DataSize smallInputThreshold = DataSize.ofKilobytes(256);
+
+    /**
+     * Conversões simultâneas na faixa rápida
+     */
+    private int smallInputConcurrency = 16;
+
+    /**
+     * Memória total estimada para as conversões em andamento
+     */
+    private DataSize memoryBudget = DataSize.ofMegabytes(512);
+
+    /**
+     * Memória estimada por byte de entrada quando o tipo não aparece em "memory-factor"
+     */
+    private double defaultMemoryFactor = 2.0;
+
+    /**
+     * Memória estimada por byte de entrada, por tipo de conversão
+     */
+    private Map<ConversionType, Double> memoryFactor = new EnumMap<>(ConversionType.class);
+
+    /**
+     * Tamanho considerado na estimativa de memória quando a entrada não informa o seu (upload chunked)
+     */
+    private DataSize unknownInputSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Tempo máximo de espera por uma vaga antes de rejeitar uma requisição HTTP
+     */
+    private Duration acquireTimeout = Duration.ZERO;
+
+    /**
+     * Tempo máximo de espera por uma vaga para trabalho já aceito (jobs assíncronos e entradas de lote)
+     */
+    private Duration queuedAcquireTimeout = Duration.ofMinutes(10);
+
+    /**
+     * Valor do cabeçalho Retry-After quando a conversão é rejeitada
+     */
+    private Duration retryAfter = Duration.ofSeconds(2);
+}
@@ -0,0 +1,193 @@
+package com.fileconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propriedades de configuração dos conversores (prefixo "converter")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "converter")
+public class ConverterProperties {
+
+    private Csv csv = new Csv();
+    private CsvToJson csvToJson = new CsvToJson();
+    private JsonToCsv jsonToCsv = new JsonToCsv();
+    private CsvToExcel csvToExcel = new CsvToExcel();
+    private CsvToArrow csvToArrow = new CsvToArrow();
+    private XmlToJson xmlToJson = new XmlToJson();
+    private JsonToXml jsonToXml = new JsonToXml();
+    private JsonToPdf jsonToPdf = new JsonToPdf();
+    private TextToPdf textToPdf = new TextToPdf();
+    private Pipeline pipeline = new Pipeline();
+
+    @Data
+    public static class Csv {
+
+        /**
+         * Lê CSV direto dos bytes UTF-8 (CsvTokenizer); false ou formatos não suportados usam o commons-csv
+         */
+        private boolean byteTokenizer = true;
+    }
+
+    @Data
+    public static class CsvToJson {
+
+        /**
+         * Entradas maiores que isto são divididas em blocos convertidos em paralelo
+         */
+        private DataSize parallelThreshold = DataSize.ofMegabytes(16);
+
+        /**
+         * Tamanho aproximado de cada bloco no modo paralelo
+         */
+        private DataSize chunkSize = DataSize.ofMegabytes(4);
+
+        /**
+         * Threads usadas no modo paralelo; 1 ou menos desliga o modo paralelo
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+    }
+
+    @Data
+    public static class JsonToCsv {
+
+        /**
+         * Estratégia de descoberta dos cabeçalhos do CSV
+         */
+        private HeaderMode headerMode = HeaderMode.FIRST_RECORD;
+
+        /**
+         * Tamanho máximo do arquivo temporário usado no modo UNION
+         */
+        private DataSize maxSpillSize = DataSize.ofMegabytes(512);
+    }
+
+    @Data
+    public static class CsvToExcel {
+
+        /**
+         * Número de linhas mantidas em memória pelo SXSSFWorkbook
+         */
+        private int rowAccessWindow = 100;
+
+        /**
+         * Número de linhas de dados usadas para estimar a largura das colunas
+         */
+        private int columnWidthSampleRows = 1000;
+    }
+
+    @Data
+    public static class CsvToArrow {
+
+        /**
+         * Número de linhas lidas antes da escrita para inferir o tipo de cada coluna
+         */
+        private int sampleRows = 1000;
+
+        /**
+         * Número de linhas por record batch
+         */
+        private int batchRows = 8192;
+
+        /**
+         * O que fazer com valores posteriores à amostra que não seguem o tipo inferido
+         */
+        private TypeMismatch typeMismatch = TypeMismatch.WIDEN;
+
+        /**
+         * Tamanho máximo do arquivo temporário usado no modo WIDEN
+         */
+        private DataSize maxSpillSize = DataSize.ofMegabytes(512);
+
+        /**
+         * Limite de memória fora do heap usada pelos vetores Arrow em cada conversão
+         */
+        private DataSize maxDirectMemory = DataSize.ofMegabytes(256);
+    }
+
+    @Data
+    public static class XmlToJson {
+
+        /**
+         * Traduz eventos StAX direto para JSON em vez de montar a árvore do documento
+         */
+        private boolean streaming = true;
+
+        /**
+         * Número máximo de elementos guardados por elemento aberto para agrupar irmãos repetidos em arrays
+         */
+        private int maxBufferedElements = 10000;
+    }
+
+    @Data
+    public static class JsonToXml {
+
+        /**
+         * Nome do elemento raiz; vazio usa o nome do tipo Java (LinkedHashMap, ArrayList...)
+         */
+        private String rootElementName = "";
+
+        /**
+         * Nome dos elementos gerados para os itens de um array na raiz
+         */
+        private String itemElementName = "item";
+    }
+
+    @Data
+    public static class JsonToPdf {
+
+        /**
+         * A cada quantas linhas a tabela é renderizada e descarregada no PdfWriter; 0 ou menos só no final
+         */
+        private int flushRows = 100;
+    }
+
+    @Data
+    public static class TextToPdf {
+
+        /**
+         * Escreve as linhas direto no conteúdo das páginas em vez de um Paragraph por linha (muda o layout do PDF)
+         */
+        private boolean fastMode = false;
+    }
+
+    @Data
+    public static class Pipeline {
+
+        /**
+         * Registros por segmento de tokens passado entre as etapas de uma conversão encadeada
+         */
+        private int segmentRecords = 256;
+
+        /**
+         * Segmentos prontos aguardando a etapa seguinte; quando cheio a etapa anterior espera
+         */
+        private int maxSegments = 4;
+    }
+
+    /**
+     * FIRST_RECORD usa as chaves do primeiro objeto e escreve as linhas em uma única passada.
+     * UNION descobre todas as chaves gravando os registros em disco e relendo-os em uma segunda passada.
+     */
+    public enum HeaderMode {
+        FIRST_RECORD,
+        UNION
+    }
+
+    /**
+     * WIDEN (padrão) grava as linhas posteriores à amostra em disco, alarga o tipo das colunas
+     * (inteiro -> decimal -> texto) e só então escreve o schema; nenhum valor se perde.
+     * FAIL interrompe a conversão apontando a linha e a coluna do valor.
+     * NULL grava o valor como nulo e continua; a perda só aparece no log do servidor.
+     * FAIL e NULL escrevem sem arquivo temporário, à medida que o CSV é lido.
+     */
+    public enum TypeMismatch {
+        WIDEN,
+        NULL,
+        FAIL
+    }
+}
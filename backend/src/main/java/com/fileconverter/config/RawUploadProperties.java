@@ -0,0 +1,20 @@
+package com.fileconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Propriedades do upload com corpo bruto (prefixo "conversion.raw-upload")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "conversion.raw-upload")
+public class RawUploadProperties {
+
+    /**
+     * Tamanho máximo do corpo, verificado enquanto ele é lido
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+}
@@ -0,0 +1,48 @@
+package com.fileconverter.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.zip.Deflater;
+
+/**
+ * Propriedades do armazenamento de resultados (prefixo "file.output")
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "file.output")
+public class ResultStoreProperties {
+
+    /**
+     * Diretório dos arquivos convertidos
+     */
+    private String directory = "output/";
+
+    /**
+     * Tempo que um resultado fica disponível para download
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Espaço total dos resultados (disco + memória); acima disso os menos usados são removidos
+     */
+    private DataSize maxTotalSize = DataSize.ofGigabytes(1);
+
+    /**
+     * Resultados até este tamanho ficam em memória, sem I/O de disco
+     */
+    private DataSize memoryThreshold = DataSize.ofKilobytes(64);
+
+    /**
+     * Espaço total dos resultados mantidos em memória
+     */
+    private DataSize maxMemorySize = DataSize.ofMegabytes(32);
+
+    /**
+     * Nível do Deflater (1 a 9) usado nos resultados gravados com gzip
+     */
+    private int compressionLevel = Deflater.BEST_SPEED;
+}
@@ -0,0 +1,127 @@
+package com.fileconverter.controller;
+
+import com.fileconverter.config.RawUploadProperties;
+import com.fileconverter.exception.UploadTooLargeException;
+import com.fileconverter.model.ConversionType;
+import com.fileconverter.service.BatchConversionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST Controller para conversões em lote
+ *
+ * Recebe vários arquivos e/ou um ZIP e devolve um ZIP com os resultados
+ * e um manifest.json, escrito à medida que as entradas ficam prontas.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/convert/batch")
+@CrossOrigin(origins = "*")
+@Tag(name = "Batch Conversion", description = "Conversão de vários arquivos em uma única requisição")
+public class BatchConversionController {
+
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+    private static final String RESULT_FILE_NAME = "converted.zip";
+
+    private final BatchConversionService batchConversionService;
+    private final RawUploadProperties rawUploadProperties;
+
+    public BatchConversionController(BatchConversionService batchConversionService,
+                                     RawUploadProperties rawUploadProperties) {
+        this.batchConversionService = batchConversionService;
+        this.rawUploadProperties = rawUploadProperties;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = ZIP_CONTENT_TYPE)
+    @Operation(summary = "Converter lote", description = "Converte vários arquivos e/ou as entradas de um ZIP e devolve um ZIP de resultados com manifest.json")
+    public void convertBatch(
+            @Parameter(description = "Arquivos para conversão")
+            @RequestParam(value = "files", required = false) List<MultipartFile> files,
+            
+            @Parameter(description = "ZIP com arquivos para conversão")
+            @RequestParam(value = "archive", required = false) MultipartFile archive,
+            
+            @Parameter(description = "Tipo de conversão do lote", example = "CSV_TO_JSON")
+            @RequestParam(value = "conversionType", required = false) ConversionType conversionType,
+            
+            @Parameter(description = "Tipo por entrada, no formato nome=TIPO", example = "dados.csv=CSV_TO_EXCEL")
+            @RequestParam(value = "entryTypes", required = false) List<String> entryTypes,
+            
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("Received batch conversion request: {} files, archive: {}",
+                files == null ? 0 : files.size(), archive != null ? archive.getOriginalFilename() : "none");
+
+        InputStream archiveStream = archive != null && !archive.isEmpty() ? archive.getInputStream() : null;
+        convert(files == null ? List.of() : files, archiveStream, conversionType, entryTypes, response);
+    }
+
+    @PostMapping(consumes = ZIP_CONTENT_TYPE, produces = ZIP_CONTENT_TYPE)
+    @Operation(summary = "Converter ZIP (corpo bruto)", description = "Converte as entradas do ZIP enviado como corpo da requisição, lidas enquanto o upload chega")
+    public void convertBatchArchive(
+            @Parameter(description = "Tipo de conversão do lote", example = "CSV_TO_JSON")
+            @RequestParam(value = "conversionType", required = false) ConversionType conversionType,
+            
+            @Parameter(description = "Tipo por entrada, no formato nome=TIPO", example = "dados.csv=CSV_TO_EXCEL")
+            @RequestParam(value = "entryTypes", required = false) List<String> entryTypes,
+            
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("Received raw batch conversion request: {} bytes", request.getContentLengthLong());
+
+        long maxSize = rawUploadProperties.getMaxSize().toBytes();
+        if (request.getContentLengthLong() > maxSize) {
+            throw new UploadTooLargeException("Archive exceeds the maximum size of "
+                    + rawUploadProperties.getMaxSize().toMegabytes() + "MB");
+        }
+        convert(List.of(), request.getInputStream(), conversionType, entryTypes, response);
+    }
+
+    private void convert(List<MultipartFile> files, InputStream archive, ConversionType conversionType,
+                         List<String> entryTypes, HttpServletResponse response) throws IOException {
+        DeferredResponseOutputStream outputStream = new DeferredResponseOutputStream(response, committed -> {
+            committed.setContentType(ZIP_CONTENT_TYPE);
+            committed.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(RESULT_FILE_NAME).build().toString());
+        });
+
+        batchConversionService.convert(files, archive, rawUploadProperties.getMaxSize().toBytes(),
+                conversionType, parseEntryTypes(entryTypes), outputStream);
+        outputStream.finish();
+    }
+
+    /**
+     * Converte a lista "nome=TIPO" em mapa
+     */
+    private Map<String, ConversionType> parseEntryTypes(List<String> entryTypes) {
+        Map<String, ConversionType> types = new HashMap<>();
+        if (entryTypes == null) {
+            return types;
+        }
+        for (String entryType : entryTypes) {
+            int separator = entryType.lastIndexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid entry type, expected name=TYPE: " + entryType);
+            }
+            types.put(entryType.substring(0, separator).trim(),
+                    ConversionType.valueOf(entryType.substring(separator + 1).trim()));
+        }
+        return types;
+    }
+}
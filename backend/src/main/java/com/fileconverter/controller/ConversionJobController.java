@@ -0,0 +1,101 @@
+package com.fileconverter.controller;
+
+import com.fileconverter.model.ConversionJobResponse;
+import com.fileconverter.model.ConversionOptions;
+import com.fileconverter.model.ConversionResponse;
+import com.fileconverter.model.ConversionType;
+import com.fileconverter.service.ConversionJobService;
+import com.fileconverter.service.ResultStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * REST Controller para conversões assíncronas
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/convert/jobs")
+@CrossOrigin(origins = "*")
+@Tag(name = "Conversion Jobs", description = "Conversões assíncronas com acompanhamento de status")
+public class ConversionJobController {
+
+    private final ConversionJobService conversionJobService;
+    private final ResultDownloadWriter resultDownloadWriter;
+
+    public ConversionJobController(ConversionJobService conversionJobService,
+                                   ResultDownloadWriter resultDownloadWriter) {
+        this.conversionJobService = conversionJobService;
+        this.resultDownloadWriter = resultDownloadWriter;
+    }
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Criar job de conversão", description = "Faz upload do arquivo e retorna imediatamente o id do job")
+    public ResponseEntity<?> submitJob(
+            @Parameter(description = "Arquivo para conversão", required = true)
+            @RequestParam("file") MultipartFile file,
+
+            @Parameter(description = "Tipo de conversão", required = true, example = "CSV_TO_EXCEL")
+            @RequestParam("conversionType") ConversionType conversionType,
+
+            @Parameter(description = "Grava o resultado comprimido com gzip")
+            @RequestParam(value = "compressResult", defaultValue = "false") boolean compressResult,
+
+            @Parameter(description = "JSON/XML sem indentação (saída menor)")
+            @RequestParam(value = "compact", defaultValue = "false") boolean compact
+    ) throws IOException {
+        log.info("Received conversion job: {} to {}", file.getOriginalFilename(), conversionType);
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest()
+                    .body(ConversionResponse.builder()
+                            .success(false)
+                            .message("File is empty")
+                            .build());
+        }
+
+        ConversionJobResponse job = conversionJobService.submit(file, conversionType,
+                ConversionOptions.builder().compressResult(compressResult).compact(compact).build());
+        return ResponseEntity.accepted()
+                .location(URI.create(job.getStatusUrl()))
+                .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Consultar job", description = "Retorna o estado atual do job de conversão")
+    public ResponseEntity<ConversionJobResponse> getJobStatus(
+            @Parameter(description = "Id do job", required = true)
+            @PathVariable String jobId
+    ) {
+        return ResponseEntity.ok(conversionJobService.getStatus(jobId));
+    }
+
+    @GetMapping("/{jobId}/result")
+    @Operation(summary = "Baixar resultado do job", description = "Faz download do arquivo convertido quando o job estiver concluído")
+    public ResponseEntity<?> downloadJobResult(
+            @Parameter(description = "Id do job", required = true)
+            @PathVariable String jobId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        ResultStore.StoredResult result = conversionJobService.getResult(jobId);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(conversionJobService.getStatus(jobId));
+        }
+
+        // Resposta escrita diretamente (Range, ETag, sendfile)
+        resultDownloadWriter.write(result, request, response);
+        return null;
+    }
+}
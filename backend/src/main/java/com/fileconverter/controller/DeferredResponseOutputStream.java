@@ -0,0 +1,98 @@
+package com.fileconverter.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * OutputStream que só compromete a resposta HTTP no primeiro bloco de saída
+ *
+ * Os primeiros bytes ficam em um buffer próprio; enquanto nada foi enviado,
+ * uma exceção do conversor ainda pode virar uma resposta de erro no
+ * GlobalExceptionHandler, com status e cabeçalhos próprios. Os cabeçalhos
+ * de sucesso só são aplicados no commit. close() não envia nada: a resposta
+ * é concluída por {@link #finish()}, chamado apenas se a conversão terminar.
+ * Uma falha depois do commit chega ao container sem corpo de erro (ver
+ * GlobalExceptionHandler), que encerra a conexão sem o chunk final.
+ */
+class DeferredResponseOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpServletResponse response;
+    private final Consumer<HttpServletResponse> onCommit;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private OutputStream target;
+
+    DeferredResponseOutputStream(HttpServletResponse response, Consumer<HttpServletResponse> onCommit) {
+        this.response = response;
+        this.onCommit = onCommit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (target != null) {
+            target.write(b);
+            return;
+        }
+        if (count == buffer.length) {
+            commit();
+            target.write(b);
+            return;
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (target == null && count + len <= buffer.length) {
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+            return;
+        }
+        if (target == null) {
+            commit();
+        }
+        target.write(b, off, len);
+    }
+
+    /**
+     * Não compromete a resposta: conversores que dão flush a cada registro
+     * continuam acumulando no buffer até ele encher
+     */
+    @Override
+    public void flush() throws IOException {
+        if (target != null) {
+            target.flush();
+        }
+    }
+
+    /**
+     * Ignorado; alguns conversores fecham o stream ao terminar
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Envia o que restou no buffer e conclui a resposta; se tudo coube no
+     * buffer, a resposta sai com Content-Length em vez de chunked
+     */
+    void finish() throws IOException {
+        if (target == null) {
+            response.setContentLength(count);
+            commit();
+        }
+        target.flush();
+    }
+
+    private void commit() throws IOException {
+        onCommit.accept(response);
+        target = response.getOutputStream();
+        target.write(buffer, 0, count);
+        count = 0;
+    }
+}
@@ -1,21 +1,25 @@
 package com.fileconverter.controller;
 
+import com.fileconverter.config.RawUploadProperties;
+import com.fileconverter.model.ConversionOptions;
 import com.fileconverter.model.ConversionResponse;
 import com.fileconverter.model.ConversionType;
+import com.fileconverter.model.ResultStoreStats;
 import com.fileconverter.service.FileConversionService;
+import com.fileconverter.service.ResultStore;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
@@ -32,9 +36,16 @@ import java.util.stream.Collectors;
 public class FileConverterController {
 
     private final FileConversionService fileConversionService;
+    private final ResultStore resultStore;
+    private final ResultDownloadWriter resultDownloadWriter;
+    private final RawUploadProperties rawUploadProperties;
 
-    public FileConverterController(FileConversionService fileConversionService) {
+    public FileConverterController(FileConversionService fileConversionService, ResultStore resultStore,
+                                   ResultDownloadWriter resultDownloadWriter, RawUploadProperties rawUploadProperties) {
         this.fileConversionService = fileConversionService;
+        this.resultStore = resultStore;
+        this.resultDownloadWriter = resultDownloadWriter;
+        this.rawUploadProperties = rawUploadProperties;
     }
 
     @GetMapping("/types")
@@ -61,7 +72,13 @@ public class FileConverterController {
             @RequestParam("file") MultipartFile file,
             
             @Parameter(description = "Tipo de conversão", required = true, example = "CSV_TO_JSON")
-            @RequestParam("conversionType") ConversionType conversionType
+            @RequestParam("conversionType") ConversionType conversionType,
+            
+            @Parameter(description = "Grava o resultado comprimido com gzip")
+            @RequestParam(value = "compressResult", defaultValue = "false") boolean compressResult,
+            
+            @Parameter(description = "JSON/XML sem indentação (saída menor)")
+            @RequestParam(value = "compact", defaultValue = "false") boolean compact
     ) {
         log.info("Received conversion request: {} to {}", file.getOriginalFilename(), conversionType);
         
@@ -73,7 +90,8 @@ public class FileConverterController {
                             .build());
         }
         
-        ConversionResponse response = fileConversionService.convertFile(file, conversionType);
+        ConversionResponse response = fileConversionService.convertFile(file, conversionType,
+                ConversionOptions.builder().compressResult(compressResult).compact(compact).build());
         
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -82,22 +100,89 @@ public class FileConverterController {
         }
     }
 
+    @PostMapping(value = "/raw", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Converter corpo bruto", description = "Converte o corpo da requisição (application/octet-stream) enquanto ele é recebido, sem buffer de multipart")
+    public ResponseEntity<ConversionResponse> convertRawBody(
+            @Parameter(description = "Tipo de conversão", required = true, example = "CSV_TO_JSON")
+            @RequestParam("conversionType") ConversionType conversionType,
+            
+            @Parameter(description = "Nome original do arquivo", example = "dados.csv")
+            @RequestParam(value = "fileName", required = false) String fileName,
+            
+            @Parameter(description = "Grava o resultado comprimido com gzip")
+            @RequestParam(value = "compressResult", defaultValue = "false") boolean compressResult,
+            
+            @Parameter(description = "JSON/XML sem indentação (saída menor)")
+            @RequestParam(value = "compact", defaultValue = "false") boolean compact,
+            
+            HttpServletRequest request
+    ) throws IOException {
+        String originalFileName = fileName != null && !fileName.isBlank()
+                ? fileName
+                : "upload." + conversionType.getSourceFormat().getExtension();
+        log.info("Received raw conversion request: {} to {}", originalFileName, conversionType);
+        
+        ConversionResponse response = fileConversionService.convertStream(request.getInputStream(), originalFileName,
+                request.getContentLengthLong(), rawUploadProperties.getMaxSize().toBytes(), conversionType,
+                ConversionOptions.builder().compressResult(compressResult).compact(compact).build());
+        
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Converter e baixar", description = "Converte o arquivo e devolve o resultado na própria resposta, sem gravar em disco")
+    public void convertFileStreaming(
+            @Parameter(description = "Arquivo para conversão", required = true)
+            @RequestParam("file") MultipartFile file,
+            
+            @Parameter(description = "Tipo de conversão", required = true, example = "CSV_TO_JSON")
+            @RequestParam("conversionType") ConversionType conversionType,
+            
+            @Parameter(description = "JSON/XML sem indentação (saída menor)")
+            @RequestParam(value = "compact", defaultValue = "false") boolean compact,
+            
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("Received streaming conversion request: {} to {}", file.getOriginalFilename(), conversionType);
+        
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("File is empty");
+        }
+        
+        String fileName = outputFileName(file.getOriginalFilename(), conversionType);
+        DeferredResponseOutputStream outputStream = new DeferredResponseOutputStream(response, committed -> {
+            committed.setContentType(conversionType.getTargetFormat().getContentType());
+            committed.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(fileName).build().toString());
+        });
+        
+        fileConversionService.convertToStream(file, file.getSize(), conversionType,
+                ConversionOptions.builder().compact(compact).build(), outputStream);
+        outputStream.finish();
+    }
+
     @GetMapping("/download/{fileName}")
-    @Operation(summary = "Baixar arquivo convertido", description = "Faz download do arquivo convertido")
-    public ResponseEntity<Resource> downloadFile(
+    @Operation(summary = "Baixar arquivo convertido", description = "Faz download do arquivo convertido; suporta Range, If-Range e If-None-Match")
+    public void downloadFile(
             @Parameter(description = "Nome do arquivo", required = true)
-            @PathVariable String fileName
+            @PathVariable String fileName,
+            HttpServletRequest request,
+            HttpServletResponse response
     ) throws IOException {
         log.info("Download request for file: {}", fileName);
         
-        File file = fileConversionService.getConvertedFile(fileName);
-        Resource resource = new FileSystemResource(file);
-        
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .contentLength(file.length())
-                .body(resource);
+        ResultStore.StoredResult result = fileConversionService.getConvertedFile(fileName);
+        resultDownloadWriter.write(result, request, response);
+    }
+
+    @GetMapping("/results/stats")
+    @Operation(summary = "Estatísticas dos resultados", description = "Retorna hits, misses, remoções e ocupação do armazenamento de resultados")
+    public ResponseEntity<ResultStoreStats> getResultStoreStats() {
+        return ResponseEntity.ok(resultStore.getStats());
     }
 
     @GetMapping("/health")
@@ -106,6 +191,18 @@ public class FileConverterController {
         return ResponseEntity.ok(new HealthResponse("File Converter API is running", "1.0.0"));
     }
 
+    /**
+     * Nome sugerido para o resultado: nome original com a extensão do formato de saída
+     */
+    private String outputFileName(String originalFileName, ConversionType conversionType) {
+        String baseName = originalFileName == null ? "converted" : originalFileName;
+        int dot = baseName.lastIndexOf('.');
+        if (dot > 0) {
+            baseName = baseName.substring(0, dot);
+        }
+        return baseName + "." + conversionType.getTargetFormat().getExtension();
+    }
+
     // DTOs internos
     public record ConversionTypeDTO(String type, String description) {}
     public record HealthResponse(String status, String version) {}
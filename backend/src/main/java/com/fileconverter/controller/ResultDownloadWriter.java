@@ -0,0 +1,171 @@
+package com.fileconverter.controller;
+
+import com.fileconverter.service.ResultStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Escreve um resultado armazenado na resposta HTTP
+ *
+ * - ETag/Last-Modified e 304 para If-None-Match/If-Modified-Since
+ * - Range de um único intervalo (206), respeitando If-Range; vários intervalos
+ *   recebem o arquivo inteiro, como permite a RFC 9110
+ * - arquivos em disco vão pelo sendfile do Tomcat quando disponível, ou por
+ *   FileChannel.transferTo; resultados em memória são escritos direto
+ * - resultados gravados com gzip vão com Content-Encoding: gzip (Range e
+ *   Content-Length se referem aos bytes comprimidos); clientes que não
+ *   aceitam gzip recebem o conteúdo descomprimido durante o envio
+ */
+@Slf4j
+@Component
+class ResultDownloadWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String GZIP = "gzip";
+    private static final int BUFFER_SIZE = 8192;
+
+    void write(ResultStore.StoredResult result, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (result.isCompressed()) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (!acceptsGzip(request)) {
+                writeDecompressed(result, request, response);
+                return;
+            }
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+
+        String eTag = result.getETag();
+        long lastModified = result.getCreatedAt().toEpochMilli();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        setContentHeaders(result, response);
+
+        long size = result.getSize();
+        long start = 0;
+        long length = size;
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && isRangeApplicable(request, eTag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(size);
+                long end = range.getRangeEnd(size);
+                if (start >= size || end < start) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                length = end - start + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+            }
+        }
+
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (!result.isInMemory() && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, result.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+
+        result.transferTo(start, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * Envia o conteúdo descomprimido, sem Range nem Content-Length
+     */
+    private void writeDecompressed(ResultStore.StoredResult result, HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        // Representação diferente da comprimida, então ETag diferente
+        String eTag = result.getETag().replaceFirst("\"$", "-identity\"");
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, result.getCreatedAt().toEpochMilli())) {
+            return;
+        }
+
+        setContentHeaders(result, response);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        try (InputStream inputStream = new GZIPInputStream(result.openStream(), BUFFER_SIZE)) {
+            inputStream.transferTo(response.getOutputStream());
+        }
+    }
+
+    private void setContentHeaders(ResultStore.StoredResult result, HttpServletResponse response) {
+        response.setContentType(result.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(result.getContentFileName()).build().toString());
+    }
+
+    /**
+     * Verifica se Accept-Encoding aceita gzip (ou "*") com q maior que zero
+     */
+    private boolean acceptsGzip(HttpServletRequest request) {
+        boolean wildcard = false;
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (String coding : headers.nextElement().split(",")) {
+                String[] parts = coding.trim().split(";");
+                String name = parts[0].trim();
+                boolean accepted = parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+                if (name.equalsIgnoreCase(GZIP)) {
+                    return accepted;
+                }
+                if (name.equals("*")) {
+                    wildcard = accepted;
+                }
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Range só vale se If-Range estiver ausente ou ainda corresponder ao resultado
+     */
+    private boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.fileconverter.converter;
+
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.List;
+
+/**
+ * Tipos de coluna inferidos pelo CSV -> Arrow e a escrita de cada valor no vetor correspondente
+ *
+ * As regras são estritas para não perder informação: inteiros com zeros à
+ * esquerda (CEP, códigos) ou fora do intervalo de long continuam texto,
+ * booleanos são apenas true/false em minúsculas (TRUE ou True ficam texto)
+ * e datas seguem ISO-8601 (data, data e hora com 'T' ou espaço, com ou sem
+ * offset; sem offset é tratada como UTC).
+ */
+enum ArrowColumnType {
+
+    INTEGER(new ArrowType.Int(64, true)) {
+        @Override
+        boolean write(FieldVector vector, int row, String value) {
+            if (!isInteger(value)) {
+                return false;
+            }
+            ((BigIntVector) vector).setSafe(row, Long.parseLong(value));
+            return true;
+        }
+    },
+    DOUBLE(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE)) {
+        @Override
+        boolean write(FieldVector vector, int row, String value) {
+            if (!isDouble(value)) {
+                return false;
+            }
+            ((Float8Vector) vector).setSafe(row, Double.parseDouble(value));
+            return true;
+        }
+    },
+    BOOLEAN(ArrowType.Bool.INSTANCE) {
+        @Override
+        boolean write(FieldVector vector, int row, String value) {
+            if (!isBoolean(value)) {
+                return false;
+            }
+            ((BitVector) vector).setSafe(row, value.length() == 4 ? 1 : 0);
+            return true;
+        }
+    },
+    TIMESTAMP(new ArrowType.Timestamp(TimeUnit.MICROSECOND, "UTC")) {
+        @Override
+        boolean write(FieldVector vector, int row, String value) {
+            if (!looksLikeDate(value)) {
+                return false;
+            }
+            try {
+                ((TimeStampMicroTZVector) vector).setSafe(row, timestampMicros(value));
+                return true;
+            } catch (DateTimeException | ArithmeticException e) {
+                return false;
+            }
+        }
+    },
+    STRING(ArrowType.Utf8.INSTANCE) {
+        @Override
+        boolean write(FieldVector vector, int row, String value) {
+            ((VarCharVector) vector).setSafe(row, value.getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+    };
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int MAX_SAFE_LONG_DIGITS = 18;
+
+    private final ArrowType arrowType;
+
+    ArrowColumnType(ArrowType arrowType) {
+        this.arrowType = arrowType;
+    }
+
+    ArrowType getArrowType() {
+        return arrowType;
+    }
+
+    /**
+     * Escreve um valor não vazio na posição row do vetor
+     *
+     * @return false se o valor não segue o tipo (nada é escrito)
+     */
+    abstract boolean write(FieldVector vector, int row, String value);
+
+    /**
+     * Indica se um valor não vazio pode ser escrito neste tipo
+     */
+    boolean accepts(String value) {
+        return switch (this) {
+            case INTEGER -> isInteger(value);
+            case DOUBLE -> isDouble(value);
+            case BOOLEAN -> isBoolean(value);
+            case TIMESTAMP -> isTimestamp(value);
+            case STRING -> true;
+        };
+    }
+
+    /**
+     * Tipo mais estreito que aceita os valores deste tipo e também o valor dado
+     *
+     * INTEGER passa a DOUBLE se o valor for decimal; qualquer outro caso vira STRING.
+     */
+    ArrowColumnType widen(String value) {
+        if (accepts(value)) {
+            return this;
+        }
+        return this == INTEGER && isDouble(value) ? DOUBLE : STRING;
+    }
+
+    /**
+     * Infere o tipo de uma coluna a partir das linhas da amostra
+     *
+     * Valores vazios não contam; uma coluna só com vazios vira STRING.
+     * Inteiros misturados com decimais resultam em DOUBLE.
+     */
+    static ArrowColumnType infer(List<String[]> sample, int column) {
+        boolean seen = false;
+        boolean integer = true;
+        boolean decimal = true;
+        boolean bool = true;
+        boolean timestamp = true;
+
+        for (String[] row : sample) {
+            String value = row[column];
+            if (value.isEmpty()) {
+                continue;
+            }
+            seen = true;
+            integer = integer && isInteger(value);
+            decimal = decimal && isDouble(value);
+            bool = bool && isBoolean(value);
+            timestamp = timestamp && isTimestamp(value);
+            if (!(integer || decimal || bool || timestamp)) {
+                return STRING;
+            }
+        }
+
+        if (!seen) {
+            return STRING;
+        } else if (integer) {
+            return INTEGER;
+        } else if (decimal) {
+            return DOUBLE;
+        } else if (bool) {
+            return BOOLEAN;
+        }
+        return timestamp ? TIMESTAMP : STRING;
+    }
+
+    /**
+     * -?(0|[1-9][0-9]*) dentro do intervalo de long
+     */
+    static boolean isInteger(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        int digits = scanDigits(value, start);
+        if (digits == 0 || start + digits != value.length()
+                || (digits > 1 && value.charAt(start) == '0')) {
+            return false;
+        }
+        if (digits <= MAX_SAFE_LONG_DIGITS) {
+            return true;
+        }
+        try {
+            Long.parseLong(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Inteiro válido ou -?(0|[1-9][0-9]*)(.[0-9]+)?([eE][+-]?[0-9]+)? com fração ou expoente
+     *
+     * NaN, Infinity, hexadecimais e sufixos (1d, 1f) aceitos por Double.parseDouble ficam de fora.
+     */
+    static boolean isDouble(String value) {
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        int digits = scanDigits(value, start);
+        if (digits == 0 || (digits > 1 && value.charAt(start) == '0')) {
+            return false;
+        }
+        int pos = start + digits;
+        if (pos == value.length()) {
+            return isInteger(value);
+        }
+        if (value.charAt(pos) == '.') {
+            int fraction = scanDigits(value, pos + 1);
+            if (fraction == 0) {
+                return false;
+            }
+            pos += 1 + fraction;
+        }
+        if (pos < value.length() && (value.charAt(pos) == 'e' || value.charAt(pos) == 'E')) {
+            pos++;
+            if (pos < value.length() && (value.charAt(pos) == '+' || value.charAt(pos) == '-')) {
+                pos++;
+            }
+            int exponent = scanDigits(value, pos);
+            if (exponent == 0) {
+                return false;
+            }
+            pos += exponent;
+        }
+        return pos == value.length();
+    }
+
+    /**
+     * Apenas "true" ou "false", em minúsculas
+     */
+    static boolean isBoolean(String value) {
+        return value.equals("true") || value.equals("false");
+    }
+
+    static boolean isTimestamp(String value) {
+        if (!looksLikeDate(value)) {
+            return false;
+        }
+        try {
+            timestampMicros(value);
+            return true;
+        } catch (DateTimeException | ArithmeticException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Microssegundos desde a época (UTC) de uma data ou data e hora ISO-8601
+     */
+    static long timestampMicros(String value) {
+        Instant instant;
+        if (value.length() == 10) {
+            instant = LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant();
+        } else {
+            String text = value.charAt(10) == ' '
+                    ? value.substring(0, 10) + 'T' + value.substring(11)
+                    : value;
+            TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME
+                    .parseBest(text, OffsetDateTime::from, LocalDateTime::from);
+            instant = parsed instanceof OffsetDateTime offsetDateTime
+                    ? offsetDateTime.toInstant()
+                    : ((LocalDateTime) parsed).toInstant(ZoneOffset.UTC);
+        }
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), MICROS_PER_SECOND),
+                instant.getNano() / 1000);
+    }
+
+    /**
+     * Pré-filtro barato (yyyy-MM-dd no início) para evitar exceções do parser em colunas de texto
+     */
+    private static boolean looksLikeDate(String value) {
+        return value.length() >= 10
+                && scanDigits(value, 0) == 4 && value.charAt(4) == '-'
+                && scanDigits(value, 5) == 2 && value.charAt(7) == '-'
+                && scanDigits(value, 8) == 2
+                && (value.length() == 10 || value.charAt(10) == 'T' || value.charAt(10) == ' ');
+    }
+
+    private static int scanDigits(String value, int from) {
+        int pos = from;
+        while (pos < value.length() && value.charAt(pos) >= '0' && value.charAt(pos) <= '9') {
+            pos++;
+        }
+        return pos - from;
+    }
+}
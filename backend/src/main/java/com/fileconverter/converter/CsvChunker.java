@@ -0,0 +1,120 @@
+package com.fileconverter.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Divide um CSV em blocos de bytes que terminam sempre em fim de registro
+ *
+ * Segue as regras de aspas do CSVFormat.DEFAULT: aspas só abrem um campo
+ * no início dele, "" dentro de um campo entre aspas é uma aspa literal e
+ * quebras de linha dentro de aspas não terminam o registro. Assim cada
+ * bloco pode ser lido por um CsvTokenizer (ou CSVParser) independente.
+ */
+final class CsvChunker {
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final InputStream inputStream;
+    private final byte[] buffer = new byte[64 * 1024];
+    private int position;
+    private int limit;
+    private int state = FIELD_START;
+    private boolean recordHasContent;
+
+    CsvChunker(InputStream inputStream) {
+        this.inputStream = inputStream;
+    }
+
+    /**
+     * Bytes até o fim do primeiro registro não vazio (o cabeçalho)
+     */
+    byte[] nextRecord() throws IOException {
+        return next(0, true);
+    }
+
+    /**
+     * Próximo bloco com pelo menos minSize bytes (ou o restante da entrada)
+     *
+     * @return Bloco terminado em fim de registro, ou null no fim da entrada
+     */
+    byte[] nextChunk(int minSize) throws IOException {
+        return next(minSize, false);
+    }
+
+    private byte[] next(int minSize, boolean firstRecordOnly) throws IOException {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(firstRecordOnly ? 256 : minSize + buffer.length);
+
+        while (true) {
+            if (position == limit && !fill()) {
+                return chunk.size() > 0 ? chunk.toByteArray() : null;
+            }
+
+            int start = position;
+            while (position < limit) {
+                byte b = buffer[position++];
+                if (!advance(b)) {
+                    if (b != '\r' && b != '\n') {
+                        recordHasContent = true;
+                    }
+                    continue;
+                }
+                boolean complete = firstRecordOnly ? recordHasContent : chunk.size() + position - start >= minSize;
+                recordHasContent = false;
+                if (complete) {
+                    chunk.write(buffer, start, position - start);
+                    return chunk.toByteArray();
+                }
+            }
+            chunk.write(buffer, start, position - start);
+        }
+    }
+
+    /**
+     * Atualiza o estado com o próximo byte
+     *
+     * @return true se o byte terminou um registro
+     */
+    private boolean advance(byte b) {
+        if (state == QUOTED) {
+            if (b == '"') {
+                state = QUOTE_IN_QUOTED;
+            }
+            return false;
+        }
+        if (state == QUOTE_IN_QUOTED) {
+            if (b == '"') {
+                state = QUOTED;
+                return false;
+            }
+            state = UNQUOTED;
+        } else if (state == FIELD_START && b == '"') {
+            state = QUOTED;
+            return false;
+        }
+
+        if (b == ',' || b == '\r') {
+            state = FIELD_START;
+        } else if (b == '\n') {
+            state = FIELD_START;
+            return true;
+        } else {
+            state = UNQUOTED;
+        }
+        return false;
+    }
+
+    private boolean fill() throws IOException {
+        int read = inputStream.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
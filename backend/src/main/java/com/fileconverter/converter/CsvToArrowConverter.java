@@ -0,0 +1,270 @@
+package com.fileconverter.converter;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.exception.FileConversionException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Conversor de CSV para Apache Arrow (formato IPC stream, .arrows)
+ * Converte arquivos CSV em colunas tipadas, prontas para leitura sem parse
+ *
+ * As primeiras linhas (sample-rows) ficam em memória para inferir o tipo
+ * de cada coluna: inteiro (int64), decimal (float64), booleano, timestamp
+ * (microssegundos, UTC) ou texto. Depois o arquivo é escrito em record
+ * batches de batch-rows linhas, sem carregar o CSV inteiro.
+ *
+ * O schema vai no início do stream e não muda depois. No modo WIDEN (padrão)
+ * as linhas posteriores à amostra são gravadas em um arquivo temporário
+ * enquanto o tipo de cada coluna é alargado para aceitar todos os valores;
+ * o Arrow só é escrito depois, relendo esse arquivo. Nos modos FAIL e NULL a
+ * escrita acontece durante a leitura, e um valor que não segue o tipo
+ * inferido interrompe a conversão (FAIL) ou é gravado como nulo e
+ * contabilizado só no log (NULL).
+ * Valores vazios são nulos nas colunas tipadas e texto vazio nas de texto.
+ *
+ * Requer --add-opens=java.base/java.nio=ALL-UNNAMED na JVM (já incluído no
+ * manifesto do jar e no spring-boot:run).
+ */
+@Slf4j
+@Component
+public class CsvToArrowConverter implements FileConverter {
+
+    /** Formato do arquivo temporário: sem trim nem linhas ignoradas, para reler os valores exatamente */
+    private static final CSVFormat SPILL_FORMAT = CSVFormat.DEFAULT.withIgnoreEmptyLines(false);
+    private static final int SPILL_BUFFER_SIZE = 8192;
+
+    private final ConverterProperties.CsvToArrow properties;
+
+    public CsvToArrowConverter(ConverterProperties converterProperties) {
+        this.properties = converterProperties.getCsvToArrow();
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
+                     .withFirstRecordAsHeader()
+                     .withIgnoreHeaderCase()
+                     .withTrim())) {
+
+            List<String> headers = csvParser.getHeaderNames();
+            Iterator<CSVRecord> records = csvParser.iterator();
+
+            // Amostra para inferência dos tipos
+            List<String[]> sample = new ArrayList<>();
+            while (sample.size() < properties.getSampleRows() && records.hasNext()) {
+                sample.add(values(records.next(), headers.size()));
+            }
+
+            ArrowColumnType[] types = new ArrowColumnType[headers.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = ArrowColumnType.infer(sample, i);
+            }
+            log.debug("CSV -> Arrow column types inferred from {} rows: {}", sample.size(), List.of(types));
+
+            if (properties.getTypeMismatch() != ConverterProperties.TypeMismatch.WIDEN || !records.hasNext()) {
+                write(headers, types, sample, records, outputStream);
+                return;
+            }
+
+            Path spillFile = Files.createTempFile("csv-to-arrow-", ".csv");
+            try {
+                spill(records, headers, types, sample.size(), spillFile);
+                try (Reader spilled = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8);
+                     CSVParser spillParser = new CSVParser(spilled, SPILL_FORMAT)) {
+                    write(headers, types, sample, spillParser.iterator(), outputStream);
+                }
+            } finally {
+                Files.deleteIfExists(spillFile);
+            }
+        }
+    }
+
+    /**
+     * Escreve o schema, a amostra e os registros restantes em record batches
+     */
+    private void write(List<String> headers, ArrowColumnType[] types, List<String[]> sample,
+                       Iterator<CSVRecord> records, OutputStream outputStream) throws IOException {
+        List<Field> fields = new ArrayList<>(headers.size());
+        for (int i = 0; i < types.length; i++) {
+            fields.add(new Field(headers.get(i), FieldType.nullable(types[i].getArrowType()), null));
+        }
+
+        try (BufferAllocator allocator = new RootAllocator(properties.getMaxDirectMemory().toBytes());
+             VectorSchemaRoot root = VectorSchemaRoot.create(new Schema(fields), allocator)) {
+            BatchWriter batchWriter = new BatchWriter(root, headers, types, outputStream);
+            for (String[] values : sample) {
+                batchWriter.addRow(values);
+            }
+            sample.clear();
+            while (records.hasNext()) {
+                batchWriter.addRow(values(records.next(), headers.size()));
+            }
+            batchWriter.finish();
+        }
+    }
+
+    /**
+     * Grava os registros restantes no arquivo temporário, alargando os tipos que não aceitam algum valor
+     *
+     * O CSVPrinter escreve em um StringBuilder descarregado fora dele, como no JsonToCsvConverter,
+     * para não fazer I/O dentro dos métodos synchronized.
+     */
+    private void spill(Iterator<CSVRecord> records, List<String> headers, ArrowColumnType[] types,
+                       long sampleRows, Path spillFile) throws IOException {
+        long maxSpillBytes = properties.getMaxSpillSize().toBytes();
+        long spilledBytes = 0;
+        long rowNumber = sampleRows;
+        StringBuilder buffer = new StringBuilder(SPILL_BUFFER_SIZE);
+
+        try (OutputStream spillStream = new BufferedOutputStream(Files.newOutputStream(spillFile));
+             CSVPrinter csvPrinter = new CSVPrinter(buffer, SPILL_FORMAT)) {
+            while (records.hasNext()) {
+                String[] values = values(records.next(), headers.size());
+                rowNumber++;
+                for (int i = 0; i < values.length; i++) {
+                    String value = values[i];
+                    if (!value.isEmpty() && !types[i].accepts(value)) {
+                        ArrowColumnType widened = types[i].widen(value);
+                        log.debug("CSV -> Arrow column '{}' widened from {} to {} at row {}",
+                                headers.get(i), types[i], widened, rowNumber);
+                        types[i] = widened;
+                    }
+                }
+                csvPrinter.printRecord((Object[]) values);
+
+                if (buffer.length() >= SPILL_BUFFER_SIZE || !records.hasNext()) {
+                    byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+                    buffer.setLength(0);
+                    spilledBytes += bytes.length;
+                    if (spilledBytes > maxSpillBytes) {
+                        throw new FileConversionException(
+                                "CSV input exceeds the spill limit of " + properties.getMaxSpillSize() + " for type widening");
+                    }
+                    spillStream.write(bytes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Valores do registro alinhados ao cabeçalho (campos ausentes viram vazios)
+     */
+    private static String[] values(CSVRecord csvRecord, int columns) {
+        String[] values = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            values[i] = i < csvRecord.size() ? csvRecord.get(i) : "";
+        }
+        return values;
+    }
+
+    /**
+     * Preenche os vetores linha a linha e grava um record batch a cada batch-rows linhas
+     */
+    private final class BatchWriter {
+
+        private final VectorSchemaRoot root;
+        private final List<String> headers;
+        private final ArrowColumnType[] types;
+        private final FieldVector[] vectors;
+        private final long[] mismatches;
+        private final ArrowStreamWriter writer;
+        private final RowCounter rows = RowCounter.current();
+
+        private int batchRow;
+        private long rowNumber;
+
+        BatchWriter(VectorSchemaRoot root, List<String> headers, ArrowColumnType[] types,
+                    OutputStream outputStream) throws IOException {
+            this.root = root;
+            this.headers = headers;
+            this.types = types;
+            this.vectors = root.getFieldVectors().toArray(new FieldVector[0]);
+            this.mismatches = new long[types.length];
+            for (FieldVector vector : vectors) {
+                vector.setInitialCapacity(properties.getBatchRows());
+                vector.allocateNew();
+            }
+            // O writer não é fechado: fecharia também o OutputStream
+            this.writer = new ArrowStreamWriter(root, null, Channels.newChannel(outputStream));
+            this.writer.start();
+        }
+
+        void addRow(String[] values) throws IOException {
+            rowNumber++;
+            for (int i = 0; i < vectors.length; i++) {
+                String value = values[i];
+                if (value.isEmpty() && types[i] != ArrowColumnType.STRING) {
+                    continue;
+                }
+                if (!types[i].write(vectors[i], batchRow, value)) {
+                    mismatch(i, value);
+                }
+            }
+            if (++batchRow == properties.getBatchRows()) {
+                flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (batchRow > 0) {
+                flush();
+            }
+            writer.end();
+
+            for (int i = 0; i < mismatches.length; i++) {
+                if (mismatches[i] > 0) {
+                    log.warn("CSV -> Arrow: {} value(s) in column '{}' did not match the inferred type {} and were written as null",
+                            mismatches[i], headers.get(i), types[i]);
+                }
+            }
+        }
+
+        private void mismatch(int column, String value) {
+            if (properties.getTypeMismatch() == ConverterProperties.TypeMismatch.FAIL) {
+                throw new IllegalArgumentException(String.format(
+                        "Value '%s' in column '%s' (row %d) does not match the type %s inferred from the first %d rows",
+                        value, headers.get(column), rowNumber, types[column], properties.getSampleRows()));
+            }
+            mismatches[column]++;
+        }
+
+        private void flush() throws IOException {
+            root.setRowCount(batchRow);
+            writer.writeBatch();
+            rows.add(batchRow);
+
+            for (FieldVector vector : vectors) {
+                vector.reset();
+            }
+            batchRow = 0;
+        }
+    }
+
+    @Override
+    public String getConversionType() {
+        return "CSV_TO_ARROW";
+    }
+}
@@ -1,10 +1,9 @@
 package com.fileconverter.converter;
 
+import com.fileconverter.config.ConverterProperties;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
@@ -14,55 +13,79 @@ import java.util.List;
 /**
  * Conversor de CSV para Excel (.xlsx)
  * Converte arquivos CSV em planilhas Excel formatadas
+ *
+ * As linhas são escritas pelo ExcelSheetWriter, que mantém em memória
+ * apenas uma janela de linhas, estima a largura das colunas por amostra
+ * e passa para uma nova aba ao atingir o limite de linhas do Excel.
+ *
+ * O CSV é lido pelo CsvTokenizer direto dos bytes UTF-8, sem CSVRecord nem
+ * array de valores por linha; resta só a String de cada célula, que o POI
+ * exige. Com converter.csv.byte-tokenizer=false volta ao commons-csv.
+ * Campos ausentes em linhas curtas ficam como células vazias.
  */
 @Component
 public class CsvToExcelConverter implements FileConverter {
 
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT
+            .withFirstRecordAsHeader()
+            .withIgnoreHeaderCase()
+            .withTrim();
+
+    private final ConverterProperties.CsvToExcel properties;
+    private final boolean byteTokenizer;
+
+    public CsvToExcelConverter(ConverterProperties converterProperties) {
+        this.properties = converterProperties.getCsvToExcel();
+        this.byteTokenizer = converterProperties.getCsv().isByteTokenizer();
+    }
+
     @Override
     public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
+        if (byteTokenizer && CsvTokenizer.supports(FORMAT)) {
+            convertWithTokenizer(inputStream, outputStream);
+            return;
+        }
+
         try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-                     .withFirstRecordAsHeader()
-                     .withIgnoreHeaderCase()
-                     .withTrim());
-             Workbook workbook = new XSSFWorkbook()) {
-            
-            Sheet sheet = workbook.createSheet("Data");
-            
-            // Cria estilo para o cabeçalho
-            CellStyle headerStyle = workbook.createCellStyle();
-            Font headerFont = workbook.createFont();
-            headerFont.setBold(true);
-            headerFont.setFontHeightInPoints((short) 12);
-            headerStyle.setFont(headerFont);
-            headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-            headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-            
-            // Adiciona cabeçalhos
-            Row headerRow = sheet.createRow(0);
+             CSVParser csvParser = new CSVParser(reader, FORMAT)) {
+
             List<String> headers = csvParser.getHeaderNames();
-            for (int i = 0; i < headers.size(); i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers.get(i));
-                cell.setCellStyle(headerStyle);
-            }
-            
-            // Adiciona dados
-            int rowNum = 1;
-            for (CSVRecord csvRecord : csvParser) {
-                Row row = sheet.createRow(rowNum++);
-                for (int i = 0; i < headers.size(); i++) {
-                    Cell cell = row.createCell(i);
-                    cell.setCellValue(csvRecord.get(i));
+
+            try (ExcelSheetWriter sheetWriter = new ExcelSheetWriter(properties, headers)) {
+                // Adiciona dados
+                Object[] values = new Object[headers.size()];
+                for (CSVRecord csvRecord : csvParser) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = i < csvRecord.size() ? csvRecord.get(i) : null;
+                    }
+                    sheetWriter.addRow(values);
                 }
+
+                sheetWriter.write(outputStream);
+                RowCounter.current().add(sheetWriter.getDataRows());
+            }
+        }
+    }
+
+    private void convertWithTokenizer(InputStream inputStream, OutputStream outputStream) throws IOException {
+        try (CsvTokenizer tokenizer = new CsvTokenizer(inputStream, FORMAT)) {
+            List<String> headers;
+            try (CSVParser header = tokenizer.readHeader(FORMAT)) {
+                headers = header.getHeaderNames();
             }
-            
-            // Auto-ajusta largura das colunas
-            for (int i = 0; i < headers.size(); i++) {
-                sheet.autoSizeColumn(i);
+
+            try (ExcelSheetWriter sheetWriter = new ExcelSheetWriter(properties, headers)) {
+                Object[] values = new Object[headers.size()];
+                while (tokenizer.next()) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = i < tokenizer.size() ? tokenizer.get(i) : null;
+                    }
+                    sheetWriter.addRow(values);
+                }
+
+                sheetWriter.write(outputStream);
+                RowCounter.current().add(sheetWriter.getDataRows());
             }
-            
-            workbook.write(outputStream);
         }
     }
 
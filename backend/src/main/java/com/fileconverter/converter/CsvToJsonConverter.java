@@ -1,6 +1,10 @@
 package com.fileconverter.converter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.model.ConversionOptions;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
@@ -8,44 +12,289 @@ import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Conversor de CSV para JSON
  * Converte arquivos CSV em formato JSON array de objetos
+ *
+ * Cada registro é escrito no JsonGenerator assim que é lido, sem
+ * acumular as linhas em memória; o consumo fica constante
+ * independentemente do número de linhas.
+ *
+ * Entradas de tamanho conhecido (ConversionOptions.inputSize) acima de
+ * converter.csv-to-json.parallel-threshold são divididas
+ * em blocos que terminam em fim de registro (respeitando quebras de linha
+ * entre aspas, ver CsvChunker). Cada bloco vira um fragmento JSON em um
+ * pool de threads e os fragmentos são escritos na ordem original; a saída
+ * é idêntica byte a byte à do modo sequencial. Entradas menores ou de
+ * tamanho desconhecido (upload chunked, conversões encadeadas) usam o modo
+ * sequencial, que começa a escrever logo no primeiro registro.
+ *
+ * Com a opção compact o JSON é escrito sem indentação.
+ *
+ * O CSV é lido pelo CsvTokenizer, direto dos bytes UTF-8: os valores vão
+ * para o gerador como trechos do buffer do registro (writeUTF8String),
+ * sem criar Strings, e os nomes das colunas são serializados uma vez.
+ * Com converter.csv.byte-tokenizer=false a leitura volta ao commons-csv.
  */
 @Component
-public class CsvToJsonConverter implements FileConverter {
+public class CsvToJsonConverter implements JsonTokenSource {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private static final CSVFormat HEADER_FORMAT = CSVFormat.DEFAULT
+            .withFirstRecordAsHeader()
+            .withIgnoreHeaderCase()
+            .withTrim();
+    private static final CSVFormat CHUNK_FORMAT = CSVFormat.DEFAULT.withTrim();
+
+    /** Separadores do DefaultPrettyPrinter entre o array e os objetos */
+    private static final ArraySyntax PRETTY = new ArraySyntax("[ ", ", ", " ]", "[ ]");
+    /** Separadores sem indentação */
+    private static final ArraySyntax COMPACT = new ArraySyntax("[", ",", "]", "[]");
+
+    private final JacksonCodecs codecs;
+    private final ConverterProperties.CsvToJson properties;
+    private final boolean byteTokenizer;
+    private final ForkJoinPool pool;
+
+    public CsvToJsonConverter(ConverterProperties converterProperties, JacksonCodecs codecs) {
+        this.properties = converterProperties.getCsvToJson();
+        this.codecs = codecs;
+        this.byteTokenizer = converterProperties.getCsv().isByteTokenizer();
+        this.pool = properties.getParallelism() > 1 ? new ForkJoinPool(properties.getParallelism()) : null;
+    }
 
     @Override
     public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
-        List<Map<String, String>> records = new ArrayList<>();
-        
+        convert(inputStream, outputStream, ConversionOptions.defaults());
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream, ConversionOptions options)
+            throws Exception {
+        boolean compact = options.isCompact();
+        // Só entradas sabidamente maiores que o limite pagam o custo de dividir em blocos
+        if (pool == null || options.getInputSize() < properties.getParallelThreshold().toBytes()) {
+            convertSequential(inputStream, outputStream, compact);
+        } else {
+            convertParallel(inputStream, outputStream, compact);
+        }
+    }
+
+    private void convertSequential(InputStream inputStream, OutputStream outputStream, boolean compact)
+            throws IOException {
+        try (JsonGenerator generator = codecs.createGenerator(outputStream, compact)) {
+            writeTokens(inputStream, generator);
+        }
+    }
+
+    /**
+     * Escreve o array de registros no gerador, sempre no modo sequencial
+     */
+    @Override
+    public void writeTokens(InputStream inputStream, JsonGenerator generator) throws IOException {
+        RowCounter rows = RowCounter.current();
+        if (useTokenizer(HEADER_FORMAT)) {
+            try (CsvTokenizer tokenizer = new CsvTokenizer(inputStream, HEADER_FORMAT)) {
+                Columns columns;
+                try (CSVParser header = tokenizer.readHeader(HEADER_FORMAT)) {
+                    columns = Columns.of(header.getHeaderMap());
+                }
+                writeRecords(tokenizer, generator, columns, rows);
+            }
+            return;
+        }
+
         try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-             CSVParser csvParser = new CSVParser(reader, CSVFormat.DEFAULT
-                     .withFirstRecordAsHeader()
-                     .withIgnoreHeaderCase()
-                     .withTrim())) {
-            
+             CSVParser csvParser = new CSVParser(reader, HEADER_FORMAT)) {
+
+            Columns columns = Columns.of(csvParser.getHeaderMap());
+
+            generator.writeStartArray();
             for (CSVRecord csvRecord : csvParser) {
-                Map<String, String> record = new LinkedHashMap<>();
-                csvRecord.toMap().forEach(record::put);
-                records.add(record);
+                writeRecord(generator, columns, csvRecord);
+                rows.add(1);
             }
+            generator.writeEndArray();
+        }
+    }
+
+    private void convertParallel(InputStream inputStream, OutputStream outputStream, boolean compact)
+            throws Exception {
+        ArraySyntax syntax = compact ? COMPACT : PRETTY;
+        CsvChunker chunker = new CsvChunker(inputStream);
+        int chunkSize = (int) Math.min(Integer.MAX_VALUE - 8, properties.getChunkSize().toBytes());
+        int maxInFlight = properties.getParallelism() + 2;
+
+        // O cabeçalho é lido com o mesmo CSVFormat do modo sequencial
+        byte[] header = chunker.nextRecord();
+        Columns columns;
+        try (CSVParser headerParser = new CSVParser(new InputStreamReader(
+                new ByteArrayInputStream(header == null ? new byte[0] : header), StandardCharsets.UTF_8), HEADER_FORMAT)) {
+            columns = Columns.of(headerParser.getHeaderMap());
+        }
+
+        RowCounter rows = RowCounter.current();
+        Deque<Future<ByteArrayOutputStream>> pending = new ArrayDeque<>();
+        boolean first = true;
+        try {
+            byte[] chunk;
+            while ((chunk = chunker.nextChunk(chunkSize)) != null) {
+                if (pending.size() == maxInFlight) {
+                    first = writeFragment(pending.removeFirst().get(), outputStream, syntax, first);
+                }
+                byte[] task = chunk;
+                pending.addLast(pool.submit(() -> serializeChunk(task, columns, rows, compact)));
+            }
+            while (!pending.isEmpty()) {
+                first = writeFragment(pending.removeFirst().get(), outputStream, syntax, first);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        outputStream.write(first ? syntax.empty() : syntax.end());
+        outputStream.flush();
+    }
+
+    /**
+     * Serializa um bloco como array JSON completo; o fragmento é o conteúdo entre o início e o fim do array
+     */
+    private ByteArrayOutputStream serializeChunk(byte[] chunk, Columns columns, RowCounter rows, boolean compact)
+            throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(chunk.length * 2);
+        if (useTokenizer(CHUNK_FORMAT)) {
+            try (CsvTokenizer tokenizer = new CsvTokenizer(chunk, CHUNK_FORMAT);
+                 JsonGenerator generator = codecs.createGenerator(json, compact)) {
+                writeRecords(tokenizer, generator, columns, rows);
+            }
+            return json;
+        }
+
+        try (CSVParser csvParser = new CSVParser(new InputStreamReader(
+                new ByteArrayInputStream(chunk), StandardCharsets.UTF_8), CHUNK_FORMAT);
+             JsonGenerator generator = codecs.createGenerator(json, compact)) {
+
+            generator.writeStartArray();
+            for (CSVRecord csvRecord : csvParser) {
+                writeRecord(generator, columns, csvRecord);
+                rows.add(1);
+            }
+            generator.writeEndArray();
+        }
+        return json;
+    }
+
+    /**
+     * Escreve o fragmento de um bloco, separado dos anteriores
+     *
+     * @return true se ainda nada foi escrito
+     */
+    private boolean writeFragment(ByteArrayOutputStream json, OutputStream outputStream, ArraySyntax syntax,
+                                  boolean first) throws IOException {
+        if (json.size() <= syntax.empty().length) {
+            return first;
+        }
+        byte[] bytes = json.toByteArray();
+        int start = syntax.start().length;
+        outputStream.write(first ? syntax.start() : syntax.separator());
+        outputStream.write(bytes, start, bytes.length - start - syntax.end().length);
+        return false;
+    }
+
+    private boolean useTokenizer(CSVFormat format) {
+        return byteTokenizer && CsvTokenizer.supports(format);
+    }
+
+    private void writeRecords(CsvTokenizer tokenizer, JsonGenerator generator, Columns columns, RowCounter rows)
+            throws IOException {
+        // Só geradores que escrevem bytes aceitam writeUTF8String (não o TokenBuffer do encadeamento)
+        boolean utf8Output = generator.getOutputTarget() instanceof OutputStream;
+
+        generator.writeStartArray();
+        while (tokenizer.next()) {
+            writeRecord(generator, columns, tokenizer, utf8Output);
+            rows.add(1);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeRecord(JsonGenerator generator, Columns columns, CsvTokenizer csvRecord, boolean utf8Output)
+            throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.indexes().length; i++) {
+            int index = columns.indexes()[i];
+            if (index < csvRecord.size()) {
+                generator.writeFieldName(columns.names()[i]);
+                if (utf8Output && csvRecord.isBmpUtf8(index)) {
+                    generator.writeUTF8String(csvRecord.buffer(), csvRecord.start(index), csvRecord.length(index));
+                } else {
+                    generator.writeString(csvRecord.get(index));
+                }
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeRecord(JsonGenerator generator, Columns columns, CSVRecord csvRecord) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.indexes().length; i++) {
+            int index = columns.indexes()[i];
+            if (index < csvRecord.size()) {
+                generator.writeFieldName(columns.names()[i]);
+                generator.writeString(csvRecord.get(index));
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
         }
-        
-        // Escreve o JSON formatado
-        String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(records);
-        outputStream.write(json.getBytes(StandardCharsets.UTF_8));
     }
 
     @Override
     public String getConversionType() {
         return "CSV_TO_JSON";
     }
+
+    /**
+     * Nomes já serializados e posições das colunas, na mesma ordem usada por CSVRecord.toMap()
+     */
+    private record Columns(SerializedString[] names, int[] indexes) {
+
+        static Columns of(Map<String, Integer> headerMap) {
+            SerializedString[] names = new SerializedString[headerMap.size()];
+            int[] indexes = new int[headerMap.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> column : headerMap.entrySet()) {
+                names[i] = new SerializedString(column.getKey());
+                indexes[i++] = column.getValue();
+            }
+            return new Columns(names, indexes);
+        }
+    }
+
+    /**
+     * Bytes que o gerador escreve em volta e entre os itens de um array
+     */
+    private record ArraySyntax(byte[] start, byte[] separator, byte[] end, byte[] empty) {
+
+        ArraySyntax(String start, String separator, String end, String empty) {
+            this(start.getBytes(StandardCharsets.UTF_8), separator.getBytes(StandardCharsets.UTF_8),
+                    end.getBytes(StandardCharsets.UTF_8), empty.getBytes(StandardCharsets.UTF_8));
+        }
+    }
 }
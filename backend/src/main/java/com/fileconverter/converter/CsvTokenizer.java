@@ -0,0 +1,417 @@
+package com.fileconverter.converter;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Leitor de CSV que trabalha direto sobre os bytes UTF-8 da entrada
+ *
+ * Reproduz o Lexer do commons-csv para os formatos aceitos por supports():
+ * aspas só abrem um campo no início dele, "" dentro de aspas é uma aspa
+ * literal, CR, LF e CRLF terminam o registro, linhas vazias são ignoradas
+ * e, com trim, os espaços (e controles) nas pontas de cada valor saem.
+ * Os outros formatos (escape, comentários, delimitador de vários
+ * caracteres...) continuam com o CSVParser.
+ *
+ * Nada é alocado por registro: os campos do registro atual ficam em um
+ * buffer reutilizado e são expostos como trechos dele (buffer(), start(i),
+ * length(i)), válidos até a próxima chamada de next(). get(i) cria a
+ * String quando o destino precisa de uma.
+ */
+final class CsvTokenizer implements Closeable {
+
+    private static final int EOF = -1;
+    private static final int CR = '\r';
+    private static final int LF = '\n';
+
+    private final InputStream inputStream;
+    private final byte delimiter;
+    private final byte quote;
+    private final boolean trim;
+
+    private byte[] input;
+    private int position;
+    private int limit;
+    private byte lastByte;
+
+    private byte[] data = new byte[1024];
+    private int dataLength;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int size;
+    private long lineNumber;
+
+    /**
+     * Lê a entrada em blocos de 64KB
+     */
+    CsvTokenizer(InputStream inputStream, CSVFormat format) {
+        this(inputStream, new byte[64 * 1024], 0, format);
+    }
+
+    /**
+     * Lê um bloco já em memória (ver CsvChunker), sem cópia
+     */
+    CsvTokenizer(byte[] chunk, CSVFormat format) {
+        this(null, chunk, chunk.length, format);
+    }
+
+    private CsvTokenizer(InputStream inputStream, byte[] input, int limit, CSVFormat format) {
+        if (!supports(format)) {
+            throw new IllegalArgumentException("CSV format not supported by the byte tokenizer: " + format);
+        }
+        this.inputStream = inputStream;
+        this.input = input;
+        this.limit = limit;
+        this.delimiter = (byte) format.getDelimiterString().charAt(0);
+        this.quote = (byte) format.getQuoteCharacter().charValue();
+        this.trim = format.getTrim();
+    }
+
+    /**
+     * Indica se o formato pode ser lido por este tokenizer; caso contrário use o CSVParser
+     */
+    static boolean supports(CSVFormat format) {
+        String delimiterString = format.getDelimiterString();
+        Character quoteCharacter = format.getQuoteCharacter();
+        return delimiterString.length() == 1 && isPlainAscii(delimiterString.charAt(0))
+                && quoteCharacter != null && isPlainAscii(quoteCharacter)
+                && quoteCharacter != delimiterString.charAt(0)
+                && format.getEscapeCharacter() == null
+                && format.getCommentMarker() == null
+                && format.getNullString() == null
+                && format.getIgnoreEmptyLines()
+                && !format.getIgnoreSurroundingSpaces()
+                && !format.getTrailingDelimiter();
+    }
+
+    private static boolean isPlainAscii(char c) {
+        return c < 0x80 && c != CR && c != LF;
+    }
+
+    /**
+     * Lê o primeiro registro como cabeçalho
+     *
+     * O mapa e a lista de nomes são montados pelo próprio commons-csv a partir
+     * dos valores lidos, com as mesmas regras (ignoreHeaderCase, nomes
+     * duplicados ou ausentes) de um CSVParser com withFirstRecordAsHeader().
+     */
+    CSVParser readHeader(CSVFormat format) throws IOException {
+        String[] names = new String[0];
+        if (next()) {
+            names = new String[size];
+            for (int i = 0; i < size; i++) {
+                names[i] = get(i);
+            }
+        }
+        return new CSVParser(new StringReader(""), format.withHeader(names));
+    }
+
+    /**
+     * Avança para o próximo registro
+     *
+     * @return false no fim da entrada
+     */
+    boolean next() throws IOException {
+        size = 0;
+        dataLength = 0;
+
+        // Linhas vazias entre registros são ignoradas
+        int c;
+        while ((c = peek()) == CR || c == LF) {
+            consumeEndOfLine(c);
+        }
+        if (c == EOF) {
+            return false;
+        }
+
+        while (true) {
+            int fieldStart = dataLength;
+            int terminator;
+            if (c == quote) {
+                position++;
+                terminator = readQuoted();
+            } else {
+                terminator = readSimple();
+            }
+            addField(fieldStart);
+
+            if (terminator != delimiter) {
+                if (terminator != EOF) {
+                    consumeEndOfLine(terminator);
+                }
+                return true;
+            }
+            position++;
+            // Após um delimitador, fim de linha ou de arquivo ainda geram um campo vazio
+            c = peek();
+        }
+    }
+
+    /**
+     * Número de campos do registro atual
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Buffer com os bytes dos campos do registro atual
+     */
+    byte[] buffer() {
+        return data;
+    }
+
+    int start(int field) {
+        return starts[field];
+    }
+
+    int length(int field) {
+        return ends[field] - starts[field];
+    }
+
+    /**
+     * Valor do campo como String (bytes UTF-8 inválidos viram U+FFFD, como no InputStreamReader)
+     */
+    String get(int field) {
+        return new String(data, starts[field], ends[field] - starts[field], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Indica se os bytes do campo são UTF-8 válido só com caracteres do BMP (até 3 bytes)
+     *
+     * Nesse caso o writeUTF8String do Jackson copia os bytes com o mesmo
+     * resultado do writeString, que escreve caracteres fora do BMP como
+     * escapes JSON do par surrogate.
+     */
+    boolean isBmpUtf8(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        while (i < end) {
+            int b = data[i] & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+
+            int continuation;
+            int min = 0x80;
+            int max = 0xBF;
+            if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+                if (b == 0xE0) {
+                    min = 0xA0;
+                } else if (b == 0xED) {
+                    max = 0x9F;
+                }
+            } else {
+                return false;
+            }
+
+            if (i + continuation >= end) {
+                return false;
+            }
+            int second = data[i + 1] & 0xFF;
+            if (second < min || second > max) {
+                return false;
+            }
+            if (continuation == 2 && (data[i + 2] & 0xC0) != 0x80) {
+                return false;
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (inputStream != null) {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Campo sem aspas: copia até o delimitador, fim de linha ou fim da entrada (não consumidos)
+     */
+    private int readSimple() throws IOException {
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                byte b = input[position];
+                if (b == delimiter || b == CR || b == LF) {
+                    append(start, position - start);
+                    return b;
+                }
+                position++;
+            }
+            append(start, position - start);
+            if (!fill()) {
+                return EOF;
+            }
+        }
+    }
+
+    /**
+     * Campo entre aspas, a partir do byte seguinte à aspa de abertura
+     *
+     * @return O delimitador, fim de linha ou fim da entrada que segue a aspa de fechamento (não consumido)
+     */
+    private int readQuoted() throws IOException {
+        long startLine = lineNumber + 1;
+        while (true) {
+            int start = position;
+            while (position < limit && input[position] != quote) {
+                countLine(input[position]);
+                position++;
+            }
+            append(start, position - start);
+            if (position == limit) {
+                if (!fill()) {
+                    throw new IOException("(startline " + startLine + ") EOF reached before encapsulated token finished");
+                }
+                continue;
+            }
+
+            position++;
+            int c = peek();
+            if (c == quote) {
+                // "" vira uma aspa literal
+                append(position, 1);
+                position++;
+                continue;
+            }
+
+            // Depois da aspa de fechamento só são aceitos espaços até o delimitador
+            while (c != delimiter && c != CR && c != LF && c != EOF) {
+                if (c < 0x80 && Character.isWhitespace(c)) {
+                    position++;
+                } else if (c < 0x80 || !skipUnicodeWhitespace()) {
+                    throw new IOException("(line " + (lineNumber + 1) + ") invalid char between encapsulated token and delimiter");
+                }
+                c = peek();
+            }
+            return c;
+        }
+    }
+
+    /**
+     * Consome um espaço Unicode de 3 bytes (U+1680, U+2000..., U+3000) aceito pelo commons-csv após as aspas
+     */
+    private boolean skipUnicodeWhitespace() throws IOException {
+        if (!ensure(3)) {
+            return false;
+        }
+        int b1 = input[position] & 0xFF;
+        int b2 = input[position + 1] & 0xFF;
+        int b3 = input[position + 2] & 0xFF;
+        if ((b1 & 0xF0) != 0xE0 || (b2 & 0xC0) != 0x80 || (b3 & 0xC0) != 0x80) {
+            return false;
+        }
+        int codePoint = ((b1 & 0x0F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+        if (!Character.isWhitespace(codePoint)) {
+            return false;
+        }
+        position += 3;
+        return true;
+    }
+
+    private void addField(int fieldStart) {
+        int start = fieldStart;
+        int end = dataLength;
+        if (trim) {
+            // Mesmo critério de String.trim(): em UTF-8 esses caracteres são sempre um byte só
+            while (start < end && (data[start] & 0xFF) <= ' ') {
+                start++;
+            }
+            while (end > start && (data[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+        }
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    private void append(int from, int length) {
+        if (length == 0) {
+            return;
+        }
+        if (dataLength + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + length));
+        }
+        System.arraycopy(input, from, data, dataLength, length);
+        dataLength += length;
+    }
+
+    private void consumeEndOfLine(int c) throws IOException {
+        position++;
+        lineNumber++;
+        if (c == CR && peek() == LF) {
+            position++;
+        }
+    }
+
+    /**
+     * Conta as quebras de linha dentro de aspas como o commons-csv: CR, ou LF que não segue um CR
+     */
+    private void countLine(byte b) {
+        if (b == CR || (b == LF && (position > 0 ? input[position - 1] : lastByte) != CR)) {
+            lineNumber++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return input[position] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        if (inputStream == null) {
+            return false;
+        }
+        if (limit > 0) {
+            lastByte = input[limit - 1];
+        }
+        int read = inputStream.read(input, 0, input.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Garante ao menos n bytes disponíveis a partir da posição atual
+     */
+    private boolean ensure(int n) throws IOException {
+        while (limit - position < n) {
+            if (inputStream == null) {
+                return false;
+            }
+            System.arraycopy(input, position, input, 0, limit - position);
+            limit -= position;
+            position = 0;
+            int read = inputStream.read(input, limit, input.length - limit);
+            if (read <= 0) {
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,161 @@
+package com.fileconverter.converter;
+
+import com.fileconverter.config.ConverterProperties;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Escreve linhas em uma planilha .xlsx com memória limitada
+ *
+ * Usa um SXSSFWorkbook, que mantém em memória apenas uma janela de linhas
+ * e descarrega as demais em arquivos temporários. A largura das colunas é
+ * estimada a partir de uma amostra das primeiras linhas, em vez de
+ * autoSizeColumn, que percorre a planilha inteira. Ao atingir o limite de
+ * linhas do Excel, a escrita continua em uma nova aba.
+ *
+ * Compartilhado pelos conversores com saída Excel (CSV -> Excel, JSON -> Excel).
+ */
+final class ExcelSheetWriter implements Closeable {
+
+    private static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+    private static final int COLUMN_PADDING = 2;
+
+    private final SXSSFWorkbook workbook;
+    private final CellStyle headerStyle;
+    private final List<String> headers;
+    private final int[] columnWidths;
+    private final int sampleRows;
+
+    private Sheet sheet;
+    private int sheetCount = 1;
+    private int rowNum = 1;
+    private long dataRows;
+    private boolean widthsApplied;
+
+    ExcelSheetWriter(ConverterProperties.CsvToExcel properties, List<String> headers) {
+        this.workbook = new SXSSFWorkbook(properties.getRowAccessWindow());
+        this.workbook.setCompressTempFiles(true);
+        this.headers = headers;
+        this.sampleRows = properties.getColumnWidthSampleRows();
+
+        // Cria estilo para o cabeçalho
+        this.headerStyle = workbook.createCellStyle();
+        Font headerFont = workbook.createFont();
+        headerFont.setBold(true);
+        headerFont.setFontHeightInPoints((short) 12);
+        headerStyle.setFont(headerFont);
+        headerStyle.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+        this.columnWidths = new int[headers.size()];
+        for (int i = 0; i < headers.size(); i++) {
+            columnWidths[i] = headers.get(i).length();
+        }
+
+        this.sheet = createSheet(1);
+    }
+
+    /**
+     * Adiciona uma linha de dados; números e booleanos viram células do tipo correspondente
+     *
+     * @param values Um valor por coluna do cabeçalho (null deixa a célula vazia)
+     */
+    void addRow(Object[] values) {
+        if (rowNum == MAX_ROWS_PER_SHEET) {
+            if (!widthsApplied) {
+                applyColumnWidths(sheet);
+                widthsApplied = true;
+            }
+            sheet = createSheet(++sheetCount);
+            applyColumnWidths(sheet);
+            rowNum = 1;
+        }
+
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < headers.size(); i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            String text;
+            if (value instanceof Number number) {
+                cell.setCellValue(number.doubleValue());
+                text = number.toString();
+            } else if (value instanceof Boolean bool) {
+                cell.setCellValue(bool);
+                text = bool.toString();
+            } else {
+                text = value.toString();
+                cell.setCellValue(text);
+            }
+            if (dataRows < sampleRows && text.length() > columnWidths[i]) {
+                columnWidths[i] = text.length();
+            }
+        }
+
+        if (++dataRows == sampleRows) {
+            applyColumnWidths(sheet);
+            widthsApplied = true;
+        }
+    }
+
+    /**
+     * Número de linhas de dados escritas
+     */
+    long getDataRows() {
+        return dataRows;
+    }
+
+    /**
+     * Grava o workbook completo no OutputStream
+     */
+    void write(OutputStream outputStream) throws IOException {
+        // Amostra menor que o número configurado de linhas
+        if (!widthsApplied) {
+            applyColumnWidths(sheet);
+            widthsApplied = true;
+        }
+        workbook.write(outputStream);
+    }
+
+    /**
+     * Remove os arquivos temporários do SXSSFWorkbook
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    /**
+     * Cria uma aba com a linha de cabeçalho
+     */
+    private Sheet createSheet(int sheetNumber) {
+        Sheet created = workbook.createSheet(sheetNumber == 1 ? "Data" : "Data " + sheetNumber);
+
+        Row headerRow = created.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers.get(i));
+            cell.setCellStyle(headerStyle);
+        }
+        return created;
+    }
+
+    /**
+     * Define a largura das colunas a partir do maior texto da amostra
+     */
+    private void applyColumnWidths(Sheet target) {
+        for (int i = 0; i < columnWidths.length; i++) {
+            target.setColumnWidth(i, Math.min(MAX_COLUMN_WIDTH, (columnWidths[i] + COLUMN_PADDING) * 256));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.fileconverter.converter;
 
+import com.fileconverter.model.ConversionOptions;
+
 import java.io.InputStream;
 import java.io.OutputStream;
 
@@ -17,6 +19,22 @@ public interface FileConverter {
      * @throws Exception se houver erro na conversão
      */
     void convert(InputStream inputStream, OutputStream outputStream) throws Exception;
+
+    /**
+     * Converte aplicando as opções da requisição
+     * 
+     * Por padrão as opções são ignoradas; conversores com saída JSON/XML
+     * usam a opção compact.
+     * 
+     * @param inputStream Stream de entrada com o arquivo original
+     * @param outputStream Stream de saída para o arquivo convertido
+     * @param options Opções da requisição
+     * @throws Exception se houver erro na conversão
+     */
+    default void convert(InputStream inputStream, OutputStream outputStream, ConversionOptions options)
+            throws Exception {
+        convert(inputStream, outputStream);
+    }
     
     /**
      * Retorna o tipo de conversão suportado
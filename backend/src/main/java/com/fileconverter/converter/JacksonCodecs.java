@@ -0,0 +1,129 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+
+/**
+ * Mappers, leitores e escritores Jackson compartilhados pelos conversores
+ *
+ * Os mappers são criados uma única vez, com o BlackbirdModule (acessores
+ * gerados via LambdaMetafactory no lugar de reflexão), e os ObjectReader e
+ * ObjectWriter são pré-construídos; todos são imutáveis e thread-safe.
+ *
+ * A saída JSON/XML é indentada por padrão. No modo compacto (opção compact
+ * da requisição) nenhum espaço é adicionado: a saída fica menor e é escrita
+ * mais rápido.
+ */
+@Component
+public class JacksonCodecs {
+
+    private final ObjectMapper jsonMapper;
+    private final XmlMapper xmlMapper;
+    private final ObjectReader recordReader;
+    private final ObjectReader xmlTreeReader;
+    private final ObjectWriter prettyWriter;
+    private final ObjectWriter compactWriter;
+
+    public JacksonCodecs() {
+        // Mensagens de erro sem a referência ao stream de entrada
+        this.jsonMapper = JsonMapper.builder()
+                .disable(StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION)
+                .addModule(new BlackbirdModule())
+                .build();
+        this.xmlMapper = (XmlMapper) new XmlMapper().registerModule(new BlackbirdModule());
+        this.recordReader = jsonMapper.readerFor(new TypeReference<LinkedHashMap<String, Object>>() {});
+        this.xmlTreeReader = xmlMapper.readerFor(Object.class);
+        this.prettyWriter = jsonMapper.writerWithDefaultPrettyPrinter();
+        this.compactWriter = jsonMapper.writer();
+    }
+
+    public JsonParser createParser(InputStream inputStream) throws IOException {
+        return jsonMapper.createParser(inputStream);
+    }
+
+    public JsonParser createParser(File file) throws IOException {
+        return jsonMapper.createParser(file);
+    }
+
+    /**
+     * Gerador JSON UTF-8 que não fecha o OutputStream
+     *
+     * close() também não fecha arrays e objetos abertos: uma conversão que
+     * falha no meio não termina com um JSON aparentemente completo.
+     */
+    public JsonGenerator createGenerator(OutputStream outputStream, boolean compact) throws IOException {
+        JsonGenerator generator = jsonMapper.createGenerator(outputStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        if (!compact) {
+            generator.useDefaultPrettyPrinter();
+        }
+        return generator;
+    }
+
+    /**
+     * Gerador para NDJSON: compacto e sem separador entre valores na raiz
+     *
+     * Quem escreve termina cada valor com '\n' (writeRaw).
+     */
+    public JsonGenerator createLineGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = createGenerator(outputStream, true);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /**
+     * Gerador XML que não fecha o OutputStream
+     */
+    public ToXmlGenerator createXmlGenerator(OutputStream outputStream, boolean compact) throws IOException {
+        ToXmlGenerator generator = xmlMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (!compact) {
+            generator.useDefaultPrettyPrinter();
+        }
+        return generator;
+    }
+
+    /**
+     * Mesma XMLInputFactory (e configuração de segurança) do XmlMapper
+     */
+    public XMLInputFactory xmlInputFactory() {
+        return xmlMapper.getFactory().getXMLInputFactory();
+    }
+
+    /**
+     * Lê um objeto JSON como LinkedHashMap, preservando a ordem das chaves
+     */
+    public ObjectReader recordReader() {
+        return recordReader;
+    }
+
+    /**
+     * Lê um documento XML como árvore genérica (Map/List/String)
+     */
+    public ObjectReader xmlTreeReader() {
+        return xmlTreeReader;
+    }
+
+    public ObjectWriter jsonWriter(boolean compact) {
+        return compact ? compactWriter : prettyWriter;
+    }
+}
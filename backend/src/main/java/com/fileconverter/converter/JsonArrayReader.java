@@ -0,0 +1,52 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Lê um array JSON de objetos um registro por vez
+ *
+ * Só o objeto corrente é materializado, de modo que a memória fica
+ * proporcional a um registro e não ao array inteiro.
+ */
+final class JsonArrayReader {
+
+    private final ObjectReader recordReader;
+    private final JsonParser parser;
+
+    private JsonArrayReader(ObjectReader recordReader, JsonParser parser) {
+        this.recordReader = recordReader;
+        this.parser = parser;
+    }
+
+    /**
+     * Posiciona o parser no início do array
+     *
+     * @param recordReader Leitor de objetos como Map (ver JacksonCodecs.recordReader)
+     * @throws IllegalArgumentException se a entrada não for um array
+     */
+    static JsonArrayReader open(ObjectReader recordReader, JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("JSON input must be an array of objects");
+        }
+        return new JsonArrayReader(recordReader, parser);
+    }
+
+    /**
+     * Lê o próximo objeto do array, ou null no fim do array
+     */
+    Map<String, Object> next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("JSON array must contain only objects");
+        }
+        return recordReader.readValue(parser);
+    }
+}
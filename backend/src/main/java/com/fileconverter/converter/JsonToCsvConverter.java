@@ -1,49 +1,178 @@
 package com.fileconverter.converter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.exception.FileConversionException;
+import com.fileconverter.model.ConversionOptions;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.stereotype.Component;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.LinkedHashSet;
 
 /**
  * Conversor de JSON para CSV
  * Converte arrays JSON em formato CSV com cabeçalhos
+ *
+ * O array é lido objeto a objeto com um JsonParser, de modo que a memória
+ * fica proporcional a um único registro. No modo FIRST_RECORD os cabeçalhos
+ * vêm do primeiro objeto; no modo UNION os registros são gravados em um
+ * arquivo temporário enquanto as chaves são coletadas, e o CSV é escrito
+ * em uma segunda passada sobre esse arquivo.
+ *
+ * Os métodos de escrita do CSVPrinter são synchronized; para não segurar o
+ * monitor durante I/O (o que prende a carrier thread de uma virtual thread),
+ * o CSVPrinter escreve em um StringBuilder que é descarregado no Writer fora dele.
  */
 @Component
-public class JsonToCsvConverter implements FileConverter {
+public class JsonToCsvConverter implements JsonTokenSink {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final JacksonCodecs codecs;
+    private final ConverterProperties.JsonToCsv properties;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    public JsonToCsvConverter(ConverterProperties converterProperties, JacksonCodecs codecs) {
+        this.properties = converterProperties.getJsonToCsv();
+        this.codecs = codecs;
+    }
 
     @Override
     public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
-        // Lê o JSON como lista de mapas
-        List<Map<String, Object>> records = objectMapper.readValue(inputStream, List.class);
-        
-        if (records.isEmpty()) {
+        try (JsonParser parser = codecs.createParser(inputStream)) {
+            readTokens(parser, outputStream, ConversionOptions.defaults());
+        }
+    }
+
+    @Override
+    public void readTokens(JsonParser parser, OutputStream outputStream, ConversionOptions options)
+            throws IOException {
+        JsonArrayReader records = JsonArrayReader.open(codecs.recordReader(), parser);
+
+        if (properties.getHeaderMode() == ConverterProperties.HeaderMode.UNION) {
+            writeWithUnionHeaders(records, outputStream);
+        } else {
+            writeWithFirstRecordHeaders(records, outputStream);
+        }
+    }
+
+    @Override
+    public boolean requiresRecords() {
+        return true;
+    }
+
+    /**
+     * Cabeçalhos do primeiro objeto; as linhas vão direto para o CSVPrinter
+     */
+    private void writeWithFirstRecordHeaders(JsonArrayReader records, OutputStream outputStream) throws IOException {
+        Map<String, Object> record = records.next();
+        if (record == null) {
             throw new IllegalArgumentException("JSON array is empty");
         }
-        
-        // Extrai os headers (keys do primeiro objeto)
-        Set<String> headers = new LinkedHashSet<>(records.get(0).keySet());
-        
+
+        String[] headers = record.keySet().toArray(new String[0]);
+        StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+        RowCounter rows = RowCounter.current();
+
         try (Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
-             CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(headers.toArray(new String[0])))) {
-            
-            for (Map<String, Object> record : records) {
-                for (String header : headers) {
-                    csvPrinter.print(record.get(header));
+             CSVPrinter csvPrinter = new CSVPrinter(buffer, CSVFormat.DEFAULT.withHeader(headers))) {
+
+            while (record != null) {
+                printRecord(csvPrinter, headers, record);
+                rows.add(1);
+                drain(buffer, writer, BUFFER_SIZE);
+                record = records.next();
+            }
+
+            drain(buffer, writer, 0);
+        }
+    }
+
+    /**
+     * União das chaves de todos os objetos, usando um arquivo temporário limitado
+     */
+    private void writeWithUnionHeaders(JsonArrayReader records, OutputStream outputStream) throws IOException {
+        Path spillFile = Files.createTempFile("json-to-csv-", ".json");
+        try {
+            Set<String> headerSet = spill(records, spillFile);
+            if (headerSet.isEmpty()) {
+                throw new IllegalArgumentException("JSON array is empty");
+            }
+
+            String[] headers = headerSet.toArray(new String[0]);
+            StringBuilder buffer = new StringBuilder(BUFFER_SIZE);
+            RowCounter rows = RowCounter.current();
+
+            try (JsonParser spillParser = codecs.createParser(spillFile.toFile());
+                 Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+                 CSVPrinter csvPrinter = new CSVPrinter(buffer, CSVFormat.DEFAULT.withHeader(headers))) {
+
+                JsonArrayReader spilledRecords = JsonArrayReader.open(codecs.recordReader(), spillParser);
+                Map<String, Object> record;
+                while ((record = spilledRecords.next()) != null) {
+                    printRecord(csvPrinter, headers, record);
+                    rows.add(1);
+                    drain(buffer, writer, BUFFER_SIZE);
                 }
-                csvPrinter.println();
+
+                drain(buffer, writer, 0);
             }
-            
-            csvPrinter.flush();
+        } finally {
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    /**
+     * Grava os registros em um array JSON no arquivo temporário e retorna as chaves encontradas
+     */
+    private Set<String> spill(JsonArrayReader records, Path spillFile) throws IOException {
+        Set<String> headers = new LinkedHashSet<>();
+        long maxSpillBytes = properties.getMaxSpillSize().toBytes();
+
+        try (CountingOutputStream spillStream = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(spillFile)));
+             JsonGenerator generator = codecs.createGenerator(spillStream, true)) {
+
+            generator.writeStartArray();
+
+            Map<String, Object> record;
+            while ((record = records.next()) != null) {
+                headers.addAll(record.keySet());
+                generator.writeObject(record);
+
+                if (spillStream.getCount() > maxSpillBytes) {
+                    throw new FileConversionException(
+                            "JSON input exceeds the spill limit of " + properties.getMaxSpillSize() + " for union headers");
+                }
+            }
+
+            generator.writeEndArray();
+        }
+
+        return headers;
+    }
+
+    private void printRecord(CSVPrinter csvPrinter, String[] headers, Map<String, Object> record) throws IOException {
+        for (String header : headers) {
+            csvPrinter.print(record.get(header));
+        }
+        csvPrinter.println();
+    }
+
+    /**
+     * Descarrega o buffer no Writer quando ele atinge o tamanho mínimo
+     */
+    private void drain(StringBuilder buffer, Writer writer, int minSize) throws IOException {
+        if (buffer.length() > 0 && buffer.length() >= minSize) {
+            writer.append(buffer);
+            buffer.setLength(0);
         }
     }
 
@@ -51,4 +180,32 @@ public class JsonToCsvConverter implements FileConverter {
     public String getConversionType() {
         return "JSON_TO_CSV";
     }
+
+    /**
+     * Conta os bytes gravados no arquivo temporário
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
 }
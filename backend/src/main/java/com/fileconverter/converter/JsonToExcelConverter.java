@@ -0,0 +1,88 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.model.ConversionOptions;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conversor de JSON para Excel (.xlsx)
+ * Converte arrays JSON de objetos em planilhas, uma linha por objeto
+ *
+ * Os registros são lidos um a um (JsonArrayReader) e escritos pelo
+ * ExcelSheetWriter, com as mesmas regras de memória do CSV -> Excel.
+ * As colunas vêm das chaves do primeiro objeto; números e booleanos
+ * viram células numéricas e booleanas. Encadeado, recebe registros de
+ * NDJSON (NDJSON -> Excel).
+ */
+@Component
+public class JsonToExcelConverter implements JsonTokenSink {
+
+    private final JacksonCodecs codecs;
+    private final ConverterProperties.CsvToExcel properties;
+
+    public JsonToExcelConverter(ConverterProperties converterProperties, JacksonCodecs codecs) {
+        this.properties = converterProperties.getCsvToExcel();
+        this.codecs = codecs;
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
+        try (JsonParser parser = codecs.createParser(inputStream)) {
+            readTokens(parser, outputStream, ConversionOptions.defaults());
+        }
+    }
+
+    @Override
+    public void readTokens(JsonParser parser, OutputStream outputStream, ConversionOptions options)
+            throws IOException {
+        JsonArrayReader records = JsonArrayReader.open(codecs.recordReader(), parser);
+
+        Map<String, Object> record = records.next();
+        if (record == null) {
+            throw new IllegalArgumentException("JSON array is empty");
+        }
+
+        List<String> headers = new ArrayList<>(record.keySet());
+        try (ExcelSheetWriter sheetWriter = new ExcelSheetWriter(properties, headers)) {
+            Object[] values = new Object[headers.size()];
+            while (record != null) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = cellValue(record.get(headers.get(i)));
+                }
+                sheetWriter.addRow(values);
+                record = records.next();
+            }
+
+            sheetWriter.write(outputStream);
+            RowCounter.current().add(sheetWriter.getDataRows());
+        }
+    }
+
+    @Override
+    public boolean requiresRecords() {
+        return true;
+    }
+
+    /**
+     * Objetos e arrays aninhados vão para a célula como JSON compacto
+     */
+    private Object cellValue(Object value) throws IOException {
+        if (value == null || value instanceof Number || value instanceof Boolean || value instanceof String) {
+            return value;
+        }
+        return codecs.jsonWriter(true).writeValueAsString(value);
+    }
+
+    @Override
+    public String getConversionType() {
+        return "JSON_TO_EXCEL";
+    }
+}
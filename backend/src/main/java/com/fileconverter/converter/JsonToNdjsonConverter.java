@@ -0,0 +1,68 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fileconverter.model.ConversionOptions;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Conversor de JSON para NDJSON (JSON Lines)
+ * Converte um array JSON em um valor por linha
+ *
+ * Os itens do array são copiados token a token, sem materializar o
+ * registro, e cada um termina com '\n'. Quebras de linha dentro de
+ * strings já saem escapadas, então cada registro ocupa uma única linha.
+ * Encadeado, recebe registros de CSV e XML (CSV/XML -> NDJSON).
+ */
+@Component
+public class JsonToNdjsonConverter implements JsonTokenSink {
+
+    private final JacksonCodecs codecs;
+
+    public JsonToNdjsonConverter(JacksonCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
+        try (JsonParser parser = codecs.createParser(inputStream)) {
+            readTokens(parser, outputStream, ConversionOptions.defaults());
+        }
+    }
+
+    @Override
+    public void readTokens(JsonParser parser, OutputStream outputStream, ConversionOptions options)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("JSON input must be an array");
+        }
+
+        try (JsonGenerator generator = codecs.createLineGenerator(outputStream)) {
+            RowCounter rows = RowCounter.current();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IllegalArgumentException("JSON array is not closed");
+                }
+                generator.copyCurrentStructure(parser);
+                generator.writeRaw('\n');
+                rows.add(1);
+            }
+        }
+    }
+
+    @Override
+    public boolean requiresRecords() {
+        return true;
+    }
+
+    @Override
+    public String getConversionType() {
+        return "JSON_TO_NDJSON";
+    }
+}
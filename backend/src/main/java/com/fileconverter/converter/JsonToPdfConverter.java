@@ -1,6 +1,8 @@
 package com.fileconverter.converter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.model.ConversionOptions;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
@@ -10,63 +12,99 @@ import com.itextpdf.layout.element.Cell;
 import com.itextpdf.kernel.colors.ColorConstants;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.List;
 import java.util.Map;
 
 /**
  * Conversor de JSON para PDF
  * Converte arrays JSON em documentos PDF formatados como tabelas
+ *
+ * Os registros são lidos um a um e a tabela usa o modo "large table" do
+ * iText: a cada N linhas as linhas completas são renderizadas e as páginas
+ * prontas vão para o PdfWriter, sem manter a tabela inteira em memória.
+ * O cabeçalho se repete em cada página.
  */
 @Component
-public class JsonToPdfConverter implements FileConverter {
+public class JsonToPdfConverter implements JsonTokenSink {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JacksonCodecs codecs;
+    private final ConverterProperties.JsonToPdf properties;
+
+    public JsonToPdfConverter(ConverterProperties converterProperties, JacksonCodecs codecs) {
+        this.properties = converterProperties.getJsonToPdf();
+        this.codecs = codecs;
+    }
 
     @Override
     public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
-        List<Map<String, Object>> records = objectMapper.readValue(inputStream, List.class);
-        
-        if (records.isEmpty()) {
+        try (JsonParser parser = codecs.createParser(inputStream)) {
+            readTokens(parser, outputStream, ConversionOptions.defaults());
+        }
+    }
+
+    @Override
+    public void readTokens(JsonParser parser, OutputStream outputStream, ConversionOptions options)
+            throws IOException {
+        JsonArrayReader records = JsonArrayReader.open(codecs.recordReader(), parser);
+
+        Map<String, Object> record = records.next();
+        if (record == null) {
             throw new IllegalArgumentException("JSON array is empty");
         }
-        
+
         PdfWriter writer = new PdfWriter(outputStream);
         PdfDocument pdf = new PdfDocument(writer);
         Document document = new Document(pdf);
-        
+
         // Título
         document.add(new Paragraph("JSON Data Report")
                 .setFontSize(18)
                 .setBold()
                 .setMarginBottom(20));
-        
+
         // Cria tabela com base nas keys do primeiro objeto
-        Map<String, Object> firstRecord = records.get(0);
-        int numColumns = firstRecord.size();
-        Table table = new Table(numColumns);
+        int numColumns = record.size();
+        Table table = new Table(numColumns, true);
         table.setWidth(500);
-        
+
         // Headers
-        for (String key : firstRecord.keySet()) {
+        for (String key : record.keySet()) {
             Cell headerCell = new Cell()
                     .add(new Paragraph(key).setBold())
                     .setBackgroundColor(ColorConstants.LIGHT_GRAY);
             table.addHeaderCell(headerCell);
         }
-        
-        // Data rows
-        for (Map<String, Object> record : records) {
+
+        // Em modo large table a tabela é adicionada antes das linhas
+        document.add(table);
+
+        // Data rows (flush-rows <= 0 renderiza a tabela só no final)
+        int flushRows = properties.getFlushRows();
+        long rowCount = 0;
+        while (record != null) {
             for (Object value : record.values()) {
                 table.addCell(new Cell().add(new Paragraph(String.valueOf(value))));
             }
+            rowCount++;
+            if (flushRows > 0 && rowCount % flushRows == 0) {
+                table.flush();
+            }
+            record = records.next();
         }
-        
-        document.add(table);
+
+        RowCounter.current().add(rowCount);
+
+        table.complete();
         document.close();
     }
 
+    @Override
+    public boolean requiresRecords() {
+        return true;
+    }
+
     @Override
     public String getConversionType() {
         return "JSON_TO_PDF";
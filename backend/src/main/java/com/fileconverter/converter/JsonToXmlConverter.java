@@ -1,32 +1,147 @@
 package com.fileconverter.converter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.xml.ser.ToXmlGenerator;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.model.ConversionOptions;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import javax.xml.namespace.QName;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Conversor de JSON para XML
  * Converte objetos JSON em formato XML
+ *
+ * Os eventos do JsonParser são copiados um a um para um ToXmlGenerator
+ * que escreve direto no OutputStream, sem materializar o documento.
+ * A saída é a mesma do XmlMapper serializando o Object genérico:
+ * - arrays dentro de objetos viram elementos repetidos com o nome do campo
+ *   (arrays aninhados são achatados e arrays vazios são omitidos)
+ * - null vira elemento vazio
+ * - a raiz recebe o nome do tipo Java (LinkedHashMap, ArrayList, String...)
+ *   e os itens de um array na raiz viram elementos "item"
+ *
+ * Os nomes da raiz e dos itens podem ser configurados em converter.json-to-xml.
+ * Com a opção compact o XML é escrito sem indentação.
  */
 @Component
-public class JsonToXmlConverter implements FileConverter {
+public class JsonToXmlConverter implements JsonTokenSink {
 
-    private final ObjectMapper jsonMapper = new ObjectMapper();
-    private final XmlMapper xmlMapper = new XmlMapper();
+    private final JacksonCodecs codecs;
+    private final ConverterProperties.JsonToXml properties;
+
+    public JsonToXmlConverter(ConverterProperties converterProperties, JacksonCodecs codecs) {
+        this.properties = converterProperties.getJsonToXml();
+        this.codecs = codecs;
+    }
 
     @Override
     public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
-        // Lê o JSON como objeto genérico
-        Object data = jsonMapper.readValue(inputStream, Object.class);
-        
-        // Converte para XML formatado
-        String xml = xmlMapper.writerWithDefaultPrettyPrinter().writeValueAsString(data);
-        
-        outputStream.write(xml.getBytes(StandardCharsets.UTF_8));
+        convert(inputStream, outputStream, ConversionOptions.defaults());
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream, ConversionOptions options)
+            throws Exception {
+        try (JsonParser parser = codecs.createParser(inputStream)) {
+            readTokens(parser, outputStream, options);
+        }
+    }
+
+    @Override
+    public void readTokens(JsonParser parser, OutputStream outputStream, ConversionOptions options)
+            throws IOException {
+        try (ToXmlGenerator generator = codecs.createXmlGenerator(outputStream, options.isCompact())) {
+
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IllegalArgumentException("JSON input is empty");
+            }
+
+            generator.setNextName(new QName(rootElementName(parser)));
+            if (token == JsonToken.START_ARRAY) {
+                generator.writeStartObject();
+                RowCounter.current().add(writeArrayItems(parser, generator, properties.getItemElementName()));
+                generator.writeEndObject();
+            } else {
+                writeValue(parser, generator);
+                RowCounter.current().add(1);
+            }
+        }
+    }
+
+    /**
+     * Copia o valor atual (objeto ou escalar) para o gerador XML
+     */
+    private void writeValue(JsonParser parser, ToXmlGenerator generator) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            // writeString(String) escapa o texto igual ao XmlMapper
+            generator.writeString(parser.getText());
+            return;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            generator.copyCurrentEvent(parser);
+            return;
+        }
+
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                writeArrayItems(parser, generator, fieldName);
+            } else {
+                generator.writeFieldName(fieldName);
+                writeValue(parser, generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Escreve cada item do array como um elemento repetido, achatando arrays aninhados
+     *
+     * @return Número de elementos escritos
+     */
+    private long writeArrayItems(JsonParser parser, ToXmlGenerator generator, String elementName) throws IOException {
+        long items = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_ARRAY) {
+                items += writeArrayItems(parser, generator, elementName);
+            } else {
+                generator.writeFieldName(elementName);
+                writeValue(parser, generator);
+                items++;
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Nome do elemento raiz: o configurado ou o nome do tipo Java usado pelo XmlMapper
+     */
+    private String rootElementName(JsonParser parser) throws IOException {
+        if (StringUtils.hasText(properties.getRootElementName())) {
+            return properties.getRootElementName();
+        }
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> "LinkedHashMap";
+            case START_ARRAY -> "ArrayList";
+            case VALUE_STRING -> "String";
+            case VALUE_TRUE, VALUE_FALSE -> "Boolean";
+            case VALUE_NUMBER_FLOAT -> "Double";
+            case VALUE_NUMBER_INT -> switch (parser.getNumberType()) {
+                case INT -> "Integer";
+                case LONG -> "Long";
+                default -> "BigInteger";
+            };
+            default -> "null";
+        };
     }
 
     @Override
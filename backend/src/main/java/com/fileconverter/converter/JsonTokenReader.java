@@ -0,0 +1,20 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.InputStream;
+
+/**
+ * JsonTokenSource que também expõe a entrada como um JsonParser
+ *
+ * O destino lê os tokens sob demanda, na própria thread, em vez de a
+ * origem empurrá-los por um TokenPipe: nada além do registro corrente
+ * fica em memória (ver PipelineConverter).
+ */
+public interface JsonTokenReader extends JsonTokenSource {
+
+    /**
+     * Abre um parser com o valor JSON correspondente à entrada (sempre um array de registros)
+     */
+    JsonParser openTokens(InputStream inputStream) throws Exception;
+}
@@ -0,0 +1,27 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fileconverter.model.ConversionOptions;
+
+import java.io.OutputStream;
+
+/**
+ * Conversor que consome JSON e sabe ler os tokens de qualquer JsonParser
+ *
+ * Permite receber a saída de um JsonTokenSource sem serializar o
+ * JSON intermediário (ver PipelineConverter).
+ */
+public interface JsonTokenSink extends FileConverter {
+
+    /**
+     * Lê o valor JSON do parser e escreve a saída convertida com as opções da requisição
+     */
+    void readTokens(JsonParser parser, OutputStream outputStream, ConversionOptions options) throws Exception;
+
+    /**
+     * Indica se a entrada precisa ser um array de registros (objetos)
+     */
+    default boolean requiresRecords() {
+        return false;
+    }
+}
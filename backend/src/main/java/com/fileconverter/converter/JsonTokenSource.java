@@ -0,0 +1,28 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.InputStream;
+
+/**
+ * Conversor que produz JSON e sabe escrever os tokens em qualquer JsonGenerator
+ *
+ * Permite encadear a conversão com um JsonTokenSink sem serializar o
+ * JSON intermediário (ver PipelineConverter).
+ */
+public interface JsonTokenSource extends FileConverter {
+
+    /**
+     * Lê a entrada e escreve o valor JSON correspondente no gerador, sem fechá-lo
+     */
+    void writeTokens(InputStream inputStream, JsonGenerator generator) throws Exception;
+
+    /**
+     * Escreve a entrada como um array de registros (objetos)
+     *
+     * Usado quando o destino espera registros; por padrão igual a writeTokens.
+     */
+    default void writeRecords(InputStream inputStream, JsonGenerator generator) throws Exception {
+        writeTokens(inputStream, generator);
+    }
+}
@@ -0,0 +1,122 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.JsonTokenId;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+
+/**
+ * Apresenta uma sequência de valores NDJSON como um único array JSON
+ *
+ * O parser do Jackson já lê vários valores na raiz separados por espaço
+ * ou quebra de linha; este delegate só acrescenta o START_ARRAY no início
+ * e o END_ARRAY no fim da entrada. Os registros continuam sendo lidos um
+ * a um direto da entrada.
+ */
+final class NdjsonArrayParser extends JsonParserDelegate {
+
+    private boolean started;
+    private boolean finished;
+    /** Token sintético corrente (início ou fim do array), ou null se o corrente vem da entrada */
+    private JsonToken synthetic;
+
+    NdjsonArrayParser(JsonParser lines) {
+        super(lines);
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        if (!started) {
+            started = true;
+            synthetic = JsonToken.START_ARRAY;
+            return synthetic;
+        }
+        if (finished) {
+            synthetic = null;
+            return null;
+        }
+        synthetic = null;
+        JsonToken token = delegate.nextToken();
+        if (token == null) {
+            finished = true;
+            synthetic = JsonToken.END_ARRAY;
+            return synthetic;
+        }
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public JsonParser skipChildren() throws IOException {
+        if (synthetic == JsonToken.START_ARRAY) {
+            // Pula o array inteiro
+            while (nextToken() != JsonToken.END_ARRAY) {
+                delegate.skipChildren();
+            }
+        } else if (synthetic == null) {
+            delegate.skipChildren();
+        }
+        return this;
+    }
+
+    @Override
+    public void clearCurrentToken() {
+        synthetic = null;
+        delegate.clearCurrentToken();
+    }
+
+    @Override
+    public JsonToken currentToken() {
+        return synthetic != null ? synthetic : delegate.currentToken();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public JsonToken getCurrentToken() {
+        return currentToken();
+    }
+
+    @Override
+    public int currentTokenId() {
+        JsonToken token = currentToken();
+        return token == null ? JsonTokenId.ID_NO_TOKEN : token.id();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public int getCurrentTokenId() {
+        return currentTokenId();
+    }
+
+    @Override
+    public boolean hasCurrentToken() {
+        return currentToken() != null;
+    }
+
+    @Override
+    public boolean hasToken(JsonToken token) {
+        return currentToken() == token;
+    }
+
+    @Override
+    public boolean hasTokenId(int id) {
+        return currentTokenId() == id;
+    }
+
+    @Override
+    public boolean isExpectedStartArrayToken() {
+        return currentToken() == JsonToken.START_ARRAY;
+    }
+
+    @Override
+    public boolean isExpectedStartObjectToken() {
+        return currentToken() == JsonToken.START_OBJECT;
+    }
+}
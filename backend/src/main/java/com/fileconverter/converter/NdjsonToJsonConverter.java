@@ -0,0 +1,66 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fileconverter.model.ConversionOptions;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Conversor de NDJSON (JSON Lines) para JSON
+ * Converte um valor JSON por linha em um array JSON
+ *
+ * Cada linha é copiada para o gerador assim que é lida. Como
+ * JsonTokenReader, também entrega a entrada como array para os destinos
+ * encadeados (NDJSON -> CSV, XML, Excel), que leem um registro por vez
+ * na própria thread.
+ */
+@Component
+public class NdjsonToJsonConverter implements JsonTokenReader {
+
+    private final JacksonCodecs codecs;
+
+    public NdjsonToJsonConverter(JacksonCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
+        convert(inputStream, outputStream, ConversionOptions.defaults());
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream, ConversionOptions options)
+            throws Exception {
+        try (JsonGenerator generator = codecs.createGenerator(outputStream, options.isCompact())) {
+            writeTokens(inputStream, generator);
+        }
+    }
+
+    @Override
+    public void writeTokens(InputStream inputStream, JsonGenerator generator) throws IOException {
+        try (JsonParser lines = codecs.createParser(inputStream)) {
+            RowCounter rows = RowCounter.current();
+
+            generator.writeStartArray();
+            while (lines.nextToken() != null) {
+                generator.copyCurrentStructure(lines);
+                rows.add(1);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    @Override
+    public JsonParser openTokens(InputStream inputStream) throws IOException {
+        return new NdjsonArrayParser(codecs.createParser(inputStream));
+    }
+
+    @Override
+    public String getConversionType() {
+        return "NDJSON_TO_JSON";
+    }
+}
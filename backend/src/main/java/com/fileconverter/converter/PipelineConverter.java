@@ -0,0 +1,107 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.model.ConversionOptions;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Conversor composto: um JsonTokenSource seguido de um JsonTokenSink
+ *
+ * As duas etapas rodam ao mesmo tempo: a origem em uma thread do executor,
+ * escrevendo tokens em um TokenPipe, e o destino na thread chamadora,
+ * lendo os mesmos tokens. O JSON intermediário nunca é serializado nem
+ * mantido inteiro em memória.
+ *
+ * Se a origem for um JsonTokenReader (NDJSON) não há segunda thread: o
+ * destino lê direto do parser da origem, um registro por vez.
+ *
+ * Criado pelo ConverterFactory para tipos sem conversor direto.
+ */
+public final class PipelineConverter implements FileConverter {
+
+    private final String conversionType;
+    private final JsonTokenSource source;
+    private final JsonTokenSink sink;
+    private final ExecutorService executor;
+    private final ConverterProperties.Pipeline properties;
+
+    public PipelineConverter(String conversionType, JsonTokenSource source, JsonTokenSink sink,
+                             ExecutorService executor, ConverterProperties.Pipeline properties) {
+        this.conversionType = conversionType;
+        this.source = source;
+        this.sink = sink;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
+        convert(inputStream, outputStream, ConversionOptions.defaults());
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream, ConversionOptions options)
+            throws Exception {
+        if (source instanceof JsonTokenReader reader) {
+            try (JsonParser parser = reader.openTokens(inputStream)) {
+                sink.readTokens(parser, outputStream, options);
+            }
+            return;
+        }
+
+        TokenPipe pipe = new TokenPipe(properties.getMaxSegments(), properties.getSegmentRecords());
+        TokenPipe.SegmentGenerator generator = pipe.generator();
+        CountDownLatch sourceDone = new CountDownLatch(1);
+        AtomicBoolean sourceStarted = new AtomicBoolean();
+
+        Future<?> producer = executor.submit(() -> {
+            sourceStarted.set(true);
+            try {
+                if (sink.requiresRecords()) {
+                    source.writeRecords(inputStream, generator);
+                } else {
+                    source.writeTokens(inputStream, generator);
+                }
+                generator.complete();
+            } catch (Throwable e) {
+                generator.fail(e);
+            } finally {
+                sourceDone.countDown();
+            }
+        });
+
+        try (JsonParser parser = pipe.parser()) {
+            sink.readTokens(parser, outputStream, options);
+            // Consome o que sobrar para a origem nunca ficar bloqueada na fila
+            while (parser.nextToken() != null) {
+                // descarta
+            }
+        } catch (Exception e) {
+            // A falha da origem é a causa real; o destino só viu o fluxo interrompido
+            Throwable sourceFailure = pipe.getFailure();
+            producer.cancel(true);
+            if (sourceStarted.get()) {
+                sourceDone.await();
+            }
+            if (sourceFailure instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        // A origem não pode continuar lendo a entrada depois do retorno
+        sourceDone.await();
+    }
+
+    @Override
+    public String getConversionType() {
+        return conversionType;
+    }
+}
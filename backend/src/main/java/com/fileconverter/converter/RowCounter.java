@@ -0,0 +1,61 @@
+package com.fileconverter.converter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de linhas (registros) processadas por uma conversão
+ *
+ * Quem executa a conversão abre um contador na thread chamadora com
+ * {@link #open()}; os conversores obtêm o contador com {@link #current()}
+ * no início e somam os registros escritos. Sem contador aberto, current()
+ * devolve um contador descartável.
+ *
+ * Trabalho feito em outras threads (blocos do CSV -> JSON paralelo) soma
+ * no contador capturado na thread chamadora. Em conversões encadeadas
+ * (PipelineConverter) só o destino conta, já que a origem roda no executor.
+ */
+public final class RowCounter implements AutoCloseable {
+
+    private static final ThreadLocal<RowCounter> CURRENT = new ThreadLocal<>();
+
+    private final LongAdder rows = new LongAdder();
+    private final RowCounter previous;
+
+    private RowCounter(RowCounter previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Abre um contador para a thread atual; deve ser fechado na mesma thread
+     */
+    public static RowCounter open() {
+        RowCounter counter = new RowCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    /**
+     * Contador aberto na thread atual, ou um descartável se não houver
+     */
+    public static RowCounter current() {
+        RowCounter counter = CURRENT.get();
+        return counter != null ? counter : new RowCounter(null);
+    }
+
+    public void add(long count) {
+        rows.add(count);
+    }
+
+    public long get() {
+        return rows.sum();
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+}
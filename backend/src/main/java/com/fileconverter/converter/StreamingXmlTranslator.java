@@ -0,0 +1,303 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fileconverter.exception.FileConversionException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tradutor de eventos StAX para tokens JSON
+ *
+ * Segue as mesmas regras do XmlMapper ao ler um Object genérico:
+ * - o elemento raiz vira um objeto
+ * - atributos e elementos filhos viram campos (nome local, sem namespace)
+ * - elementos sem atributos nem filhos viram strings com o texto
+ * - texto misturado com elementos vira o campo "" (ignorando trechos só com espaços)
+ * - irmãos com o mesmo nome viram um array
+ *
+ * Como um campo só vira array quando aparece outro irmão com o mesmo nome,
+ * e o XmlMapper agrupa esses irmãos mesmo quando não são adjacentes, os
+ * campos de cada elemento são guardados em TokenBuffers (um por nome, na
+ * ordem da primeira ocorrência) até o elemento terminar. Quando um elemento
+ * guarda mais de maxBufferedElements elementos, os campos guardados são
+ * escritos na saída e o campo aberto passa a ser escrito direto nela
+ * (irmãos adjacentes continuam entrando no mesmo array). A memória fica
+ * limitada pela profundidade do documento e por esse limite.
+ *
+ * Um irmão repetido cujo nome já foi escrito na saída (porque os elementos
+ * entre as ocorrências passaram do limite) não pode mais ser agrupado; nesse
+ * caso a tradução falha com FileConversionException.
+ */
+final class StreamingXmlTranslator {
+
+    private static final String TEXT_FIELD = "";
+
+    private final int maxBufferedElements;
+
+    StreamingXmlTranslator(int maxBufferedElements) {
+        this.maxBufferedElements = maxBufferedElements;
+    }
+
+    /**
+     * Lê o documento inteiro do XMLStreamReader e escreve o JSON correspondente
+     */
+    void translate(XMLStreamReader reader, JsonGenerator generator) throws XMLStreamException, IOException {
+        translate(reader, generator, false);
+    }
+
+    /**
+     * Escreve um array com um objeto por filho do elemento raiz
+     *
+     * Cada filho segue as mesmas regras de um elemento raiz; atributos e
+     * texto do próprio elemento raiz são ignorados.
+     */
+    void translateRecords(XMLStreamReader reader, JsonGenerator generator) throws XMLStreamException, IOException {
+        translate(reader, generator, true);
+    }
+
+    private void translate(XMLStreamReader reader, JsonGenerator generator, boolean records)
+            throws XMLStreamException, IOException {
+        Deque<Frame> stack = new ArrayDeque<>();
+        boolean insideRecords = false;
+        RowCounter rows = RowCounter.current();
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    if (records && !insideRecords) {
+                        generator.writeStartArray();
+                        insideRecords = true;
+                        continue;
+                    }
+                    // Cada filho do elemento raiz conta como um registro
+                    if (records ? stack.isEmpty() : stack.size() == 1) {
+                        rows.add(1);
+                    }
+                    Frame element;
+                    if (stack.isEmpty()) {
+                        element = new Frame(generator, maxBufferedElements);
+                        element.startObject();
+                    } else {
+                        Frame parent = stack.peek();
+                        parent.startObject();
+                        element = new Frame(parent.beginField(reader.getLocalName()), maxBufferedElements);
+                    }
+                    // Empilha antes de contar para que o novo elemento também seja redirecionado se houver escrita
+                    stack.push(element);
+                    countBufferedElement(stack);
+
+                    if (reader.getAttributeCount() > 0) {
+                        element.startObject();
+                        for (int i = 0; i < reader.getAttributeCount(); i++) {
+                            element.writeStringField(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+                        }
+                    }
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE -> {
+                    if (!stack.isEmpty()) {
+                        stack.peek().text.append(reader.getText());
+                    }
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    if (stack.isEmpty()) {
+                        generator.writeEndArray();
+                    } else {
+                        stack.pop().end();
+                    }
+                }
+                default -> {
+                    // Comentários, instruções de processamento e DTD não geram saída
+                }
+            }
+        }
+    }
+
+    /**
+     * Conta um elemento no elemento guardado mais externo e escreve seus campos se passar do limite
+     */
+    private void countBufferedElement(Deque<Frame> stack) throws IOException {
+        var frames = stack.descendingIterator();
+        while (frames.hasNext()) {
+            Frame frame = frames.next();
+            if (frame.openField != null) {
+                if (++frame.bufferedElements > maxBufferedElements) {
+                    frame.commit(stack);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Valores guardados de um campo: uma ocorrência vira valor único, mais de uma vira array
+     */
+    private static final class HeldField {
+
+        private final TokenBuffer values;
+        private int count;
+
+        HeldField(TokenBuffer values) {
+            this.values = values;
+        }
+
+        void writeTo(String name, JsonGenerator out) throws IOException {
+            out.writeFieldName(name);
+            if (count > 1) {
+                out.writeStartArray();
+                values.serialize(out);
+                out.writeEndArray();
+            } else {
+                values.serialize(out);
+            }
+        }
+    }
+
+    /**
+     * Estado de um elemento aberto
+     */
+    private static final class Frame {
+
+        /** Onde o valor deste elemento é escrito */
+        private JsonGenerator out;
+        private final int maxBufferedElements;
+        private boolean object;
+        private final StringBuilder text = new StringBuilder();
+
+        /** Campos ainda não escritos em out, na ordem da primeira ocorrência */
+        private final Map<String, HeldField> heldFields = new LinkedHashMap<>();
+        /** Campo guardado que está recebendo o valor atual; null se o valor vai direto para out */
+        private HeldField openField;
+        private int bufferedElements;
+
+        /** Array já aberto em out que recebe os próximos irmãos adjacentes com o mesmo nome */
+        private String streamingArray;
+        private final Set<String> writtenNames = new HashSet<>();
+
+        Frame(JsonGenerator out, int maxBufferedElements) {
+            this.out = out;
+            this.maxBufferedElements = maxBufferedElements;
+        }
+
+        void startObject() throws IOException {
+            if (object) {
+                return;
+            }
+            object = true;
+            out.writeStartObject();
+            flushText();
+        }
+
+        void writeStringField(String name, String value) throws IOException {
+            beginField(name).writeString(value);
+        }
+
+        /**
+         * Abre um campo e retorna o gerador onde o valor deve ser escrito
+         */
+        JsonGenerator beginField(String name) throws IOException {
+            flushText();
+
+            if (streamingArray != null) {
+                if (name.equals(streamingArray)) {
+                    return out;
+                }
+                out.writeEndArray();
+                streamingArray = null;
+            }
+            if (writtenNames.contains(name)) {
+                throw new FileConversionException("Repeated element '" + name
+                        + "' cannot be grouped with its earlier siblings: more than " + maxBufferedElements
+                        + " elements came before it in the same parent and were already written");
+            }
+
+            openField = heldFields.computeIfAbsent(name, key -> new HeldField(new TokenBuffer(out.getCodec(), false)));
+            openField.count++;
+            return openField.values;
+        }
+
+        /**
+         * Escreve os campos guardados até o campo aberto, que passa a ser escrito direto em out
+         *
+         * Campos guardados depois do campo aberto (na ordem da primeira ocorrência) continuam
+         * guardados até o fim do elemento.
+         */
+        void commit(Deque<Frame> stack) throws IOException {
+            var fields = heldFields.entrySet().iterator();
+            while (fields.hasNext()) {
+                var entry = fields.next();
+                HeldField field = entry.getValue();
+                fields.remove();
+                writtenNames.add(entry.getKey());
+                if (field != openField) {
+                    field.writeTo(entry.getKey(), out);
+                    continue;
+                }
+
+                out.writeFieldName(entry.getKey());
+                if (field.count > 1) {
+                    out.writeStartArray();
+                    streamingArray = entry.getKey();
+                }
+                field.values.serialize(out);
+                for (Frame frame : stack) {
+                    if (frame.out == field.values) {
+                        frame.out = out;
+                    }
+                }
+                break;
+            }
+            openField = null;
+            bufferedElements = 0;
+        }
+
+        void end() throws IOException {
+            if (!object) {
+                out.writeString(text.toString());
+                return;
+            }
+            flushText();
+            if (streamingArray != null) {
+                out.writeEndArray();
+                streamingArray = null;
+            }
+            for (var entry : heldFields.entrySet()) {
+                entry.getValue().writeTo(entry.getKey(), out);
+            }
+            heldFields.clear();
+            out.writeEndObject();
+        }
+
+        /**
+         * Em elementos com campos, trechos de texto viram o campo "" (exceto se só tiverem espaços)
+         */
+        private void flushText() throws IOException {
+            if (!object || text.length() == 0) {
+                return;
+            }
+            String segment = text.toString();
+            text.setLength(0);
+            if (!isWhitespace(segment)) {
+                writeStringField(TEXT_FIELD, segment);
+            }
+        }
+
+        private static boolean isWhitespace(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) > ' ') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,7 +1,15 @@
 package com.fileconverter.converter;
 
+import com.fileconverter.config.ConverterProperties;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfPage;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.canvas.PdfCanvas;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
 import org.springframework.stereotype.Component;
@@ -12,28 +20,159 @@ import java.nio.charset.StandardCharsets;
 /**
  * Conversor de Texto para PDF
  * Converte arquivos de texto simples em documentos PDF
+ *
+ * O padrão é o modo clássico, com um Paragraph por linha. No modo rápido
+ * (converter.text-to-pdf.fast-mode=true) o texto não passa pelo motor de
+ * layout: a fonte é criada uma vez, todas as linhas de uma página são
+ * escritas em um único bloco de texto no PdfCanvas (com quebra das linhas
+ * longas) e cada página é descarregada no PdfWriter assim que fica cheia.
+ * O layout resultante (espaçamento, quebras) difere do modo clássico.
  */
 @Component
 public class TextToPdfConverter implements FileConverter {
 
+    private static final float FONT_SIZE = 12f;
+    private static final float LEADING = FONT_SIZE * 1.2f;
+    private static final float MARGIN = 36f;
+    private static final String TAB = "    ";
+
+    private final ConverterProperties.TextToPdf properties;
+
+    public TextToPdfConverter(ConverterProperties converterProperties) {
+        this.properties = converterProperties.getTextToPdf();
+    }
+
     @Override
     public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
         PdfWriter writer = new PdfWriter(outputStream);
         PdfDocument pdf = new PdfDocument(writer);
-        Document document = new Document(pdf);
-        
+
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                document.add(new Paragraph(line));
+            if (properties.isFastMode()) {
+                new PageWriter(pdf).write(reader);
+                pdf.close();
+            } else {
+                Document document = new Document(pdf);
+                RowCounter rows = RowCounter.current();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    document.add(new Paragraph(line));
+                    rows.add(1);
+                }
+                document.close();
             }
         }
-        
-        document.close();
     }
 
     @Override
     public String getConversionType() {
         return "TEXT_TO_PDF";
     }
+
+    /**
+     * Escreve as linhas direto no conteúdo das páginas, uma página por vez
+     */
+    private static final class PageWriter {
+
+        private final PdfDocument pdf;
+        private final PdfFont font;
+        private final PageSize pageSize = PageSize.A4;
+        private final float maxLineWidth = pageSize.getWidth() - 2 * MARGIN;
+        private final int linesPerPage = (int) ((pageSize.getHeight() - 2 * MARGIN) / LEADING);
+        private final StringBuilder segment = new StringBuilder();
+
+        private PdfPage page;
+        private PdfCanvas canvas;
+        private int lineOnPage;
+
+        PageWriter(PdfDocument pdf) throws IOException {
+            this.pdf = pdf;
+            this.font = PdfFontFactory.createFont(StandardFonts.HELVETICA, PdfEncodings.WINANSI);
+        }
+
+        void write(BufferedReader reader) throws IOException {
+            RowCounter rows = RowCounter.current();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                writeWrapped(line.indexOf('\t') >= 0 ? line.replace("\t", TAB) : line);
+                rows.add(1);
+            }
+            if (page == null) {
+                startPage();
+            }
+            finishPage();
+        }
+
+        /**
+         * Quebra a linha em trechos que cabem na largura da página, preferindo quebrar em espaços
+         */
+        private void writeWrapped(String line) {
+            segment.setLength(0);
+            float width = 0;
+            int lastSpace = -1;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                float charWidth = font.getWidth(c, FONT_SIZE);
+
+                if (width + charWidth > maxLineWidth && segment.length() > 0) {
+                    if (lastSpace > 0) {
+                        String rest = segment.substring(lastSpace + 1);
+                        segment.setLength(lastSpace);
+                        writeLine(segment);
+                        segment.setLength(0);
+                        segment.append(rest);
+                        width = font.getWidth(rest, FONT_SIZE);
+                    } else {
+                        writeLine(segment);
+                        segment.setLength(0);
+                        width = 0;
+                    }
+                    lastSpace = -1;
+                }
+
+                if (c == ' ') {
+                    lastSpace = segment.length();
+                }
+                segment.append(c);
+                width += charWidth;
+            }
+
+            writeLine(segment);
+        }
+
+        private void writeLine(CharSequence text) {
+            if (page == null || lineOnPage == linesPerPage) {
+                if (page != null) {
+                    finishPage();
+                }
+                startPage();
+            }
+
+            canvas.newlineText();
+            if (text.length() > 0) {
+                canvas.showText(text.toString());
+            }
+            lineOnPage++;
+        }
+
+        private void startPage() {
+            page = pdf.addNewPage(pageSize);
+            canvas = new PdfCanvas(page);
+            canvas.beginText()
+                    .setFontAndSize(font, FONT_SIZE)
+                    .setLeading(LEADING)
+                    .moveText(MARGIN, pageSize.getHeight() - MARGIN);
+            lineOnPage = 0;
+        }
+
+        /**
+         * Fecha o bloco de texto e grava a página no PdfWriter
+         */
+        private void finishPage() {
+            canvas.endText();
+            canvas.release();
+            page.flush();
+        }
+    }
 }
@@ -0,0 +1,242 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Canal limitado de tokens JSON entre duas threads
+ *
+ * O produtor escreve em um JsonGenerator que grava os tokens em segmentos
+ * (TokenBuffer). Um segmento é publicado a cada segmentRecords itens
+ * fechados dentro de um array, ou seja, sempre em fronteira de registro.
+ * O consumidor lê os segmentos em sequência por um único JsonParser.
+ *
+ * No máximo maxSegments segmentos ficam na fila; quando ela enche o
+ * produtor espera, de modo que a memória fica limitada a alguns
+ * segmentos independentemente do tamanho da entrada.
+ */
+final class TokenPipe {
+
+    /** Marca o fim do fluxo de segmentos */
+    private static final TokenBuffer END = new TokenBuffer(null, false);
+
+    private final BlockingQueue<TokenBuffer> segments;
+    private final int segmentRecords;
+    private volatile Throwable failure;
+
+    TokenPipe(int maxSegments, int segmentRecords) {
+        this.segments = new ArrayBlockingQueue<>(Math.max(1, maxSegments));
+        this.segmentRecords = Math.max(1, segmentRecords);
+    }
+
+    /**
+     * Gerador usado pela thread produtora
+     */
+    SegmentGenerator generator() {
+        return new SegmentGenerator();
+    }
+
+    /**
+     * Parser usado pela thread consumidora
+     */
+    JsonParser parser() {
+        return new SegmentParser();
+    }
+
+    /**
+     * Falha do produtor, repassada ao consumidor ao fim dos segmentos
+     */
+    Throwable getFailure() {
+        return failure;
+    }
+
+    private void publish(TokenBuffer segment) throws IOException {
+        try {
+            segments.put(segment);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Token pipe interrupted");
+        }
+    }
+
+    /**
+     * Grava os tokens no segmento corrente e o publica em fronteira de registro
+     */
+    final class SegmentGenerator extends JsonGeneratorDelegate {
+
+        /** true para arrays, false para objetos */
+        private final Deque<Boolean> containers = new ArrayDeque<>();
+        private int records;
+
+        private SegmentGenerator() {
+            super(new TokenBuffer(null, false), false);
+        }
+
+        /**
+         * Publica o último segmento e o fim do fluxo
+         */
+        void complete() throws IOException {
+            publish((TokenBuffer) delegate);
+            publish(END);
+        }
+
+        /**
+         * Encerra o fluxo com erro; o consumidor recebe a falha ao terminar de ler
+         */
+        void fail(Throwable cause) {
+            failure = cause;
+            segments.clear();
+            segments.offer(END);
+        }
+
+        @Override
+        public void writeStartArray() throws IOException {
+            super.writeStartArray();
+            containers.push(Boolean.TRUE);
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        public void writeStartArray(int size) throws IOException {
+            super.writeStartArray(size);
+            containers.push(Boolean.TRUE);
+        }
+
+        @Override
+        public void writeStartArray(Object forValue) throws IOException {
+            super.writeStartArray(forValue);
+            containers.push(Boolean.TRUE);
+        }
+
+        @Override
+        public void writeStartArray(Object forValue, int size) throws IOException {
+            super.writeStartArray(forValue, size);
+            containers.push(Boolean.TRUE);
+        }
+
+        @Override
+        public void writeStartObject() throws IOException {
+            super.writeStartObject();
+            containers.push(Boolean.FALSE);
+        }
+
+        @Override
+        public void writeStartObject(Object forValue) throws IOException {
+            super.writeStartObject(forValue);
+            containers.push(Boolean.FALSE);
+        }
+
+        @Override
+        public void writeStartObject(Object forValue, int size) throws IOException {
+            super.writeStartObject(forValue, size);
+            containers.push(Boolean.FALSE);
+        }
+
+        @Override
+        public void writeEndArray() throws IOException {
+            super.writeEndArray();
+            containers.poll();
+            endValue();
+        }
+
+        @Override
+        public void writeEndObject() throws IOException {
+            super.writeEndObject();
+            containers.poll();
+            endValue();
+        }
+
+        @Override
+        public void flush() {
+            // Os segmentos só são publicados em fronteira de registro
+        }
+
+        /**
+         * Um item de array foi fechado; troca de segmento se já houver registros suficientes
+         */
+        private void endValue() throws IOException {
+            if (Boolean.TRUE.equals(containers.peek()) && ++records >= segmentRecords) {
+                publish((TokenBuffer) delegate);
+                delegate = new TokenBuffer(null, false);
+                records = 0;
+            }
+        }
+    }
+
+    /**
+     * Lê os segmentos em ordem como se fossem um único documento
+     */
+    private final class SegmentParser extends JsonParserDelegate {
+
+        private boolean finished;
+
+        private SegmentParser() {
+            super(END.asParser());
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            JsonToken token = delegate.nextToken();
+            while (token == null && !finished) {
+                TokenBuffer segment = take();
+                if (segment == END) {
+                    finished = true;
+                    if (failure != null) {
+                        throw new IOException("Pipeline source failed: " + failure.getMessage(), failure);
+                    }
+                } else {
+                    delegate.close();
+                    delegate = segment.asParser();
+                    token = delegate.nextToken();
+                }
+            }
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+
+        @Override
+        public JsonParser skipChildren() throws IOException {
+            if (currentToken() != JsonToken.START_OBJECT && currentToken() != JsonToken.START_ARRAY) {
+                return this;
+            }
+            int depth = 1;
+            while (depth > 0) {
+                JsonToken token = nextToken();
+                if (token == null) {
+                    break;
+                }
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                }
+            }
+            return this;
+        }
+
+        private TokenBuffer take() throws IOException {
+            try {
+                return segments.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Token pipe interrupted");
+            }
+        }
+    }
+}
@@ -1,32 +1,96 @@
 package com.fileconverter.converter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.model.ConversionOptions;
 import org.springframework.stereotype.Component;
 
+import javax.xml.stream.XMLStreamReader;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 
 /**
  * Conversor de XML para JSON
  * Converte documentos XML em formato JSON
+ *
+ * Por padrão os eventos StAX são traduzidos direto em tokens JSON
+ * (ver StreamingXmlTranslator), sem montar a árvore do documento.
+ * Com converter.xml-to-json.streaming=false usa o XmlMapper como antes.
+ * Com a opção compact o JSON é escrito sem indentação.
  */
 @Component
-public class XmlToJsonConverter implements FileConverter {
+public class XmlToJsonConverter implements JsonTokenSource {
 
-    private final XmlMapper xmlMapper = new XmlMapper();
-    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final JacksonCodecs codecs;
+    private final ConverterProperties.XmlToJson properties;
+
+    public XmlToJsonConverter(ConverterProperties converterProperties, JacksonCodecs codecs) {
+        this.properties = converterProperties.getXmlToJson();
+        this.codecs = codecs;
+    }
 
     @Override
     public void convert(InputStream inputStream, OutputStream outputStream) throws Exception {
+        convert(inputStream, outputStream, ConversionOptions.defaults());
+    }
+
+    @Override
+    public void convert(InputStream inputStream, OutputStream outputStream, ConversionOptions options)
+            throws Exception {
+        if (!properties.isStreaming()) {
+            convertTree(inputStream, outputStream, options.isCompact());
+            return;
+        }
+
+        try (JsonGenerator generator = codecs.createGenerator(outputStream, options.isCompact())) {
+            writeTokens(inputStream, generator);
+        }
+    }
+
+    @Override
+    public void writeTokens(InputStream inputStream, JsonGenerator generator) throws Exception {
+        if (!properties.isStreaming()) {
+            // O escritor compacto mantém a formatação já configurada no gerador
+            codecs.jsonWriter(true).writeValue(generator, codecs.xmlTreeReader().readValue(inputStream));
+            return;
+        }
+        translate(inputStream, generator, false);
+    }
+
+    /**
+     * Cada filho do elemento raiz vira um objeto do array, sempre no modo streaming
+     */
+    @Override
+    public void writeRecords(InputStream inputStream, JsonGenerator generator) throws Exception {
+        translate(inputStream, generator, true);
+    }
+
+    private void translate(InputStream inputStream, JsonGenerator generator, boolean records) throws Exception {
+        // Usa a mesma XMLInputFactory (e configuração de segurança) do XmlMapper
+        XMLStreamReader reader = codecs.xmlInputFactory().createXMLStreamReader(inputStream);
+        try {
+            StreamingXmlTranslator translator = new StreamingXmlTranslator(properties.getMaxBufferedElements());
+            if (records) {
+                translator.translateRecords(reader, generator);
+            } else {
+                translator.translate(reader, generator);
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Conversão via árvore genérica do XmlMapper
+     */
+    private void convertTree(InputStream inputStream, OutputStream outputStream, boolean compact) throws Exception {
         // Lê o XML como objeto genérico
-        Object data = xmlMapper.readValue(inputStream, Object.class);
-        
-        // Converte para JSON formatado
-        String json = jsonMapper.writerWithDefaultPrettyPrinter().writeValueAsString(data);
-        
-        outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+        Object data = codecs.xmlTreeReader().readValue(inputStream);
+
+        // Converte para JSON (formatado, a não ser no modo compacto)
+        byte[] json = codecs.jsonWriter(compact).writeValueAsBytes(data);
+
+        outputStream.write(json);
     }
 
     @Override
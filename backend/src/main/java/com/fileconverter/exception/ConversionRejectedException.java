@@ -0,0 +1,18 @@
+package com.fileconverter.exception;
+
+/**
+ * Exception lançada quando não há capacidade para aceitar uma nova conversão
+ */
+public class ConversionRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ConversionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,5 +1,7 @@
 package com.fileconverter.exception;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -12,12 +14,18 @@ import java.util.Map;
 
 /**
  * Handler global para exceções da aplicação
+ *
+ * Exceções que podem ocorrer durante uma conversão em streaming são
+ * relançadas sem corpo quando a resposta já foi comprometida (ver
+ * rethrowIfCommitted).
  */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(FileConversionException.class)
-    public ResponseEntity<Map<String, Object>> handleFileConversionException(FileConversionException ex) {
+    public ResponseEntity<Map<String, Object>> handleFileConversionException(FileConversionException ex,
+                                                                             HttpServletResponse response) {
+        rethrowIfCommitted(ex, response);
         Map<String, Object> error = new HashMap<>();
         error.put("success", false);
         error.put("message", "File conversion failed");
@@ -34,6 +42,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleJobNotFoundException(JobNotFoundException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", "Job not found");
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(ConversionRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleConversionRejectedException(ConversionRejectedException ex) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", "Server is busy, try again later");
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<Map<String, Object>> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
         Map<String, Object> error = new HashMap<>();
@@ -43,8 +71,21 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
     }
 
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadTooLargeException(UploadTooLargeException ex,
+                                                                             HttpServletResponse response) {
+        rethrowIfCommitted(ex, response);
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", "File size exceeds maximum allowed size");
+        error.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex,
+                                                                              HttpServletResponse response) {
+        rethrowIfCommitted(ex, response);
         Map<String, Object> error = new HashMap<>();
         error.put("success", false);
         error.put("message", "Invalid argument");
@@ -53,11 +94,25 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex, HttpServletResponse response)
+            throws Exception {
+        rethrowIfCommitted(ex, response);
         Map<String, Object> error = new HashMap<>();
         error.put("success", false);
         error.put("message", "Internal server error");
         error.put("error", ex.getMessage());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
+
+    /**
+     * Com a resposta já comprometida (conversão em streaming que falhou depois
+     * do primeiro bloco), não há como mudar o status: a exceção segue para o
+     * container, que encerra a conexão sem o chunk final, e o cliente vê um
+     * download incompleto em vez de um 200 com um erro JSON no fim do corpo
+     */
+    private static <E extends Exception> void rethrowIfCommitted(E ex, HttpServletResponse response) throws E {
+        if (response.isCommitted()) {
+            throw ex;
+        }
+    }
 }
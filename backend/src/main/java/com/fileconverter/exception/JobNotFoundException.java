@@ -0,0 +1,11 @@
+package com.fileconverter.exception;
+
+/**
+ * Exception lançada quando um job de conversão não existe ou já expirou
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(String jobId) {
+        super("Job not found: " + jobId);
+    }
+}
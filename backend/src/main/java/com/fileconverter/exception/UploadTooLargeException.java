@@ -0,0 +1,11 @@
+package com.fileconverter.exception;
+
+/**
+ * Exception lançada quando o corpo de um upload passa do tamanho máximo permitido
+ */
+public class UploadTooLargeException extends RuntimeException {
+
+    public UploadTooLargeException(String message) {
+        super(message);
+    }
+}
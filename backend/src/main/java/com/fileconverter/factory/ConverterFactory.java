@@ -1,37 +1,110 @@
 package com.fileconverter.factory;
 
+import com.fileconverter.config.ConverterProperties;
 import com.fileconverter.converter.*;
 import com.fileconverter.model.ConversionType;
+import com.fileconverter.model.FileFormat;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Factory para criar conversores específicos baseado no tipo de conversão
  * Implementa o padrão Factory Method
+ *
+ * Os conversores registrados são arestas de um grafo de formatos
+ * (origem -> destino do seu ConversionType). Tipos sem conversor direto
+ * são montados com uma busca em largura nesse grafo; cada junção precisa
+ * ligar um JsonTokenSource a um JsonTokenSink, e as etapas são encadeadas
+ * por um PipelineConverter que passa os tokens em memória, sem serializar
+ * o formato intermediário.
  */
+@Slf4j
 @Component
 public class ConverterFactory {
 
-    private final Map<String, FileConverter> converters = new HashMap<>();
-
-    public ConverterFactory(
-            CsvToJsonConverter csvToJsonConverter,
-            JsonToCsvConverter jsonToCsvConverter,
-            JsonToXmlConverter jsonToXmlConverter,
-            XmlToJsonConverter xmlToJsonConverter,
-            CsvToExcelConverter csvToExcelConverter,
-            TextToPdfConverter textToPdfConverter,
-            JsonToPdfConverter jsonToPdfConverter
-    ) {
-        converters.put("CSV_TO_JSON", csvToJsonConverter);
-        converters.put("JSON_TO_CSV", jsonToCsvConverter);
-        converters.put("JSON_TO_XML", jsonToXmlConverter);
-        converters.put("XML_TO_JSON", xmlToJsonConverter);
-        converters.put("CSV_TO_EXCEL", csvToExcelConverter);
-        converters.put("TEXT_TO_PDF", textToPdfConverter);
-        converters.put("JSON_TO_PDF", jsonToPdfConverter);
+    private final Map<ConversionType, FileConverter> converters = new EnumMap<>(ConversionType.class);
+    private final ExecutorService pipelineExecutor;
+
+    public ConverterFactory(List<FileConverter> converterBeans, ConverterProperties converterProperties,
+                            Environment environment) {
+        this.pipelineExecutor = Executors.newCachedThreadPool(Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("conversion-pipeline-").getVirtualThreadFactory()
+                : new PipelineThreadFactory());
+
+        for (FileConverter converter : converterBeans) {
+            converters.put(ConversionType.valueOf(converter.getConversionType()), converter);
+        }
+
+        Map<FileFormat, List<FileConverter>> edges = new EnumMap<>(FileFormat.class);
+        converters.forEach((type, converter) ->
+                edges.computeIfAbsent(type.getSourceFormat(), format -> new ArrayList<>()).add(converter));
+
+        for (ConversionType type : ConversionType.values()) {
+            if (converters.containsKey(type)) {
+                continue;
+            }
+            List<FileConverter> path = findPath(edges, type.getSourceFormat(), type.getTargetFormat());
+            if (path.size() == 2) {
+                converters.put(type, new PipelineConverter(type.name(), (JsonTokenSource) path.get(0),
+                        (JsonTokenSink) path.get(1), pipelineExecutor, converterProperties.getPipeline()));
+                log.debug("Conversion {} chained as {} -> {}", type,
+                        path.get(0).getConversionType(), path.get(1).getConversionType());
+            }
+        }
+    }
+
+    /**
+     * Menor sequência de conversores de source até target, ou lista vazia se não houver
+     */
+    private List<FileConverter> findPath(Map<FileFormat, List<FileConverter>> edges,
+                                         FileFormat source, FileFormat target) {
+        Map<FileFormat, FileConverter> reachedBy = new EnumMap<>(FileFormat.class);
+        Deque<FileFormat> queue = new ArrayDeque<>(List.of(source));
+
+        while (!queue.isEmpty()) {
+            FileFormat format = queue.poll();
+            FileConverter previous = reachedBy.get(format);
+
+            for (FileConverter next : edges.getOrDefault(format, List.of())) {
+                FileFormat reached = ConversionType.valueOf(next.getConversionType()).getTargetFormat();
+                if (reached == source || reachedBy.containsKey(reached) || !canChain(previous, next)) {
+                    continue;
+                }
+                reachedBy.put(reached, next);
+                if (reached == target) {
+                    return pathTo(reachedBy, source, target);
+                }
+                queue.add(reached);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Só há junção em memória entre quem produz e quem consome tokens JSON
+     */
+    private boolean canChain(FileConverter previous, FileConverter next) {
+        return previous == null || (previous instanceof JsonTokenSource && next instanceof JsonTokenSink);
+    }
+
+    private List<FileConverter> pathTo(Map<FileFormat, FileConverter> reachedBy, FileFormat source, FileFormat target) {
+        LinkedList<FileConverter> path = new LinkedList<>();
+        for (FileFormat format = target; format != source; ) {
+            FileConverter converter = reachedBy.get(format);
+            path.addFirst(converter);
+            format = ConversionType.valueOf(converter.getConversionType()).getSourceFormat();
+        }
+        return path;
     }
 
     /**
@@ -42,7 +115,7 @@ public class ConverterFactory {
      * @throws IllegalArgumentException se o tipo não for suportado
      */
     public FileConverter getConverter(ConversionType conversionType) {
-        FileConverter converter = converters.get(conversionType.name());
+        FileConverter converter = converters.get(conversionType);
         if (converter == null) {
             throw new IllegalArgumentException("Unsupported conversion type: " + conversionType);
         }
@@ -56,6 +129,26 @@ public class ConverterFactory {
      * @return true se suportado, false caso contrário
      */
     public boolean isSupported(ConversionType conversionType) {
-        return converters.containsKey(conversionType.name());
+        return converters.containsKey(conversionType);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pipelineExecutor.shutdownNow();
+    }
+
+    /**
+     * Nomeia as threads das etapas encadeadas para facilitar a leitura dos logs
+     */
+    private static class PipelineThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "conversion-pipeline-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
 }
@@ -0,0 +1,21 @@
+package com.fileconverter.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Linha do manifest.json de uma conversão em lote
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchEntryResult {
+
+    private String entryName;
+    private ConversionType conversionType;
+    private boolean success;
+    private String outputName;
+    private Long fileSizeBytes;
+    private String error;
+}
@@ -0,0 +1,29 @@
+package com.fileconverter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO com o estado de um job de conversão assíncrona
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversionJobResponse {
+
+    private String jobId;
+    private JobStatus status;
+    private String originalFileName;
+    private ConversionType conversionType;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String statusUrl;
+    private String resultUrl;
+    private ConversionResponse result;
+}
@@ -0,0 +1,40 @@
+package com.fileconverter.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Opções de uma requisição de conversão
+ */
+@Data
+@Builder(toBuilder = true)
+public class ConversionOptions {
+
+    /**
+     * Grava o resultado comprimido com gzip; o download usa Content-Encoding: gzip
+     */
+    private boolean compressResult;
+
+    /**
+     * JSON/XML sem indentação: saída menor e mais rápida de escrever
+     */
+    private boolean compact;
+
+    /**
+     * Tamanho da entrada em bytes (antes de descomprimir), ou -1 se desconhecido;
+     * preenchido pelo FileConversionService e não faz parte da chave do cache
+     */
+    @Builder.Default
+    private long inputSize = -1;
+
+    public static ConversionOptions defaults() {
+        return ConversionOptions.builder().build();
+    }
+
+    /**
+     * Distingue, na chave do cache, resultados gerados com opções diferentes
+     */
+    public String cacheSuffix() {
+        return (compact ? "+compact" : "") + (compressResult ? "+gzip" : "");
+    }
+}
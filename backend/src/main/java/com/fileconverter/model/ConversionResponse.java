@@ -9,7 +9,7 @@ import lombok.NoArgsConstructor;
  * DTO para resposta de conversão de arquivo
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ConversionResponse {
@@ -22,4 +22,5 @@ public class ConversionResponse {
     private long fileSizeBytes;
     private String downloadUrl;
     private String errorDetails;
+    private boolean cached;
 }
@@ -4,21 +4,44 @@ package com.fileconverter.model;
  * Tipos de conversão suportados pela API
  */
 public enum ConversionType {
-    CSV_TO_JSON("CSV para JSON"),
-    JSON_TO_CSV("JSON para CSV"),
-    JSON_TO_XML("JSON para XML"),
-    XML_TO_JSON("XML para JSON"),
-    CSV_TO_EXCEL("CSV para Excel"),
-    JSON_TO_PDF("JSON para PDF"),
-    TEXT_TO_PDF("Texto para PDF");
+    CSV_TO_JSON("CSV para JSON", FileFormat.CSV, FileFormat.JSON),
+    JSON_TO_CSV("JSON para CSV", FileFormat.JSON, FileFormat.CSV),
+    JSON_TO_XML("JSON para XML", FileFormat.JSON, FileFormat.XML),
+    XML_TO_JSON("XML para JSON", FileFormat.XML, FileFormat.JSON),
+    CSV_TO_EXCEL("CSV para Excel", FileFormat.CSV, FileFormat.XLSX),
+    JSON_TO_PDF("JSON para PDF", FileFormat.JSON, FileFormat.PDF),
+    TEXT_TO_PDF("Texto para PDF", FileFormat.TEXT, FileFormat.PDF),
+    CSV_TO_XML("CSV para XML", FileFormat.CSV, FileFormat.XML),
+    XML_TO_CSV("XML para CSV", FileFormat.XML, FileFormat.CSV),
+    JSON_TO_EXCEL("JSON para Excel", FileFormat.JSON, FileFormat.XLSX),
+    JSON_TO_NDJSON("JSON para NDJSON", FileFormat.JSON, FileFormat.NDJSON),
+    NDJSON_TO_JSON("NDJSON para JSON", FileFormat.NDJSON, FileFormat.JSON),
+    CSV_TO_NDJSON("CSV para NDJSON", FileFormat.CSV, FileFormat.NDJSON),
+    NDJSON_TO_CSV("NDJSON para CSV", FileFormat.NDJSON, FileFormat.CSV),
+    XML_TO_NDJSON("XML para NDJSON", FileFormat.XML, FileFormat.NDJSON),
+    NDJSON_TO_XML("NDJSON para XML", FileFormat.NDJSON, FileFormat.XML),
+    NDJSON_TO_EXCEL("NDJSON para Excel", FileFormat.NDJSON, FileFormat.XLSX),
+    CSV_TO_ARROW("CSV para Arrow", FileFormat.CSV, FileFormat.ARROW);
 
     private final String description;
+    private final FileFormat sourceFormat;
+    private final FileFormat targetFormat;
 
-    ConversionType(String description) {
+    ConversionType(String description, FileFormat sourceFormat, FileFormat targetFormat) {
         this.description = description;
+        this.sourceFormat = sourceFormat;
+        this.targetFormat = targetFormat;
     }
 
     public String getDescription() {
         return description;
     }
+
+    public FileFormat getSourceFormat() {
+        return sourceFormat;
+    }
+
+    public FileFormat getTargetFormat() {
+        return targetFormat;
+    }
 }
@@ -0,0 +1,45 @@
+package com.fileconverter.model;
+
+import java.util.Arrays;
+
+/**
+ * Formatos de arquivo tratados pela API, com extensão e content type
+ */
+public enum FileFormat {
+    CSV("csv", "text/csv"),
+    JSON("json", "application/json"),
+    NDJSON("ndjson", "application/x-ndjson"),
+    XML("xml", "application/xml"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    PDF("pdf", "application/pdf"),
+    ARROW("arrows", "application/vnd.apache.arrow.stream"),
+    TEXT("txt", "text/plain");
+
+    private final String extension;
+    private final String contentType;
+
+    FileFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Content type de um arquivo pela extensão; application/octet-stream se desconhecida
+     */
+    public static String contentTypeOf(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(extension))
+                .map(FileFormat::getContentType)
+                .findFirst()
+                .orElse("application/octet-stream");
+    }
+}
@@ -0,0 +1,11 @@
+package com.fileconverter.model;
+
+/**
+ * Estados de um job de conversão assíncrona
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
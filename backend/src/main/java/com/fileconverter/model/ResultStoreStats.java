@@ -0,0 +1,21 @@
+package com.fileconverter.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * DTO com os contadores do armazenamento de resultados
+ */
+@Data
+@Builder
+public class ResultStoreStats {
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private int entries;
+    private int memoryEntries;
+    private long totalBytes;
+    private long memoryBytes;
+}
@@ -0,0 +1,295 @@
+package com.fileconverter.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fileconverter.config.BatchConversionProperties;
+import com.fileconverter.exception.UploadTooLargeException;
+import com.fileconverter.model.BatchEntryResult;
+import com.fileconverter.model.ConversionOptions;
+import com.fileconverter.model.ConversionType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service de conversões em lote
+ *
+ * As entradas (arquivos avulsos e/ou entradas de um ZIP) são lidas em
+ * sequência e convertidas em paralelo em um ForkJoinPool limitado. O ZIP
+ * de entrada é lido entrada a entrada, sem extrair tudo antes; no máximo
+ * "max-in-flight" entradas ficam em memória por lote. Cada resultado vai
+ * para o ZIP de saída assim que fica pronto, e o lote termina com um
+ * manifest.json descrevendo o sucesso ou a falha de cada entrada.
+ */
+@Slf4j
+@Service
+public class BatchConversionService {
+
+    static final String MANIFEST_NAME = "manifest.json";
+
+    private final FileConversionService fileConversionService;
+    private final BatchConversionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ForkJoinPool pool;
+
+    public BatchConversionService(FileConversionService fileConversionService, BatchConversionProperties properties,
+                                  ObjectMapper objectMapper) {
+        this.fileConversionService = fileConversionService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.pool = new ForkJoinPool(properties.getParallelism(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+    }
+
+    /**
+     * Converte um lote e escreve o ZIP de resultados no OutputStream
+     *
+     * @param files Arquivos avulsos (pode ser vazio)
+     * @param archive ZIP com mais entradas, ou null
+     * @param maxArchiveBytes Tamanho máximo do ZIP, verificado durante a leitura
+     * @param defaultType Tipo de conversão do lote, ou null
+     * @param entryTypes Tipo por entrada (nome completo ou nome do arquivo), sobrepõe o do lote
+     * @param outputStream Destino do ZIP de resultados
+     * @throws IllegalArgumentException se o lote não tiver nenhuma entrada
+     * @throws UploadTooLargeException se o ZIP passar de maxArchiveBytes
+     */
+    public void convert(List<MultipartFile> files, InputStream archive, long maxArchiveBytes,
+                        ConversionType defaultType, Map<String, ConversionType> entryTypes,
+                        OutputStream outputStream) throws IOException {
+        SizeLimitedInputStream limitedArchive = archive != null ? new SizeLimitedInputStream(archive, maxArchiveBytes) : null;
+        EntryReader reader = new EntryReader(files, limitedArchive);
+        ExecutorCompletionService<EntryOutcome> completion = new ExecutorCompletionService<>(pool);
+        SortedMap<Integer, BatchEntryResult> manifest = new TreeMap<>();
+        Set<String> outputNames = new HashSet<>();
+        ZipOutputStream zip = null;
+        int inFlight = 0;
+        int index = 0;
+
+        try {
+            BatchEntry entry;
+            while ((entry = nextEntry(reader, limitedArchive, maxArchiveBytes)) != null) {
+                if (index == properties.getMaxEntries()) {
+                    throw new IllegalArgumentException("Batch exceeds the maximum of " + properties.getMaxEntries() + " entries");
+                }
+                int entryIndex = index++;
+
+                ConversionType type = entryTypes.getOrDefault(entry.name(),
+                        entryTypes.getOrDefault(baseName(entry.name()), defaultType));
+                if (entry.error() != null || type == null) {
+                    String error = entry.error() != null ? entry.error() : "No conversion type for entry";
+                    manifest.put(entryIndex, failure(entry.name(), type, error));
+                    continue;
+                }
+
+                if (inFlight == properties.getMaxInFlight()) {
+                    zip = ensureZip(zip, outputStream);
+                    writeOutcome(completion.take().get(), zip, manifest, outputNames);
+                    inFlight--;
+                }
+                BatchEntry task = entry;
+                completion.submit(() -> convertEntry(entryIndex, task, type));
+                inFlight++;
+            }
+
+            if (index == 0) {
+                throw new IllegalArgumentException("Batch contains no files");
+            }
+
+            zip = ensureZip(zip, outputStream);
+            while (inFlight > 0) {
+                writeOutcome(completion.take().get(), zip, manifest, outputNames);
+                inFlight--;
+            }
+
+            writeManifest(zip, manifest.values());
+            zip.finish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Batch conversion interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Batch conversion failed", e.getCause());
+        }
+    }
+
+    private BatchEntry nextEntry(EntryReader reader, SizeLimitedInputStream archive, long maxArchiveBytes)
+            throws IOException {
+        try {
+            return reader.next();
+        } catch (IOException e) {
+            if (archive != null && archive.isExceeded()) {
+                throw new UploadTooLargeException("Archive exceeds the maximum size of "
+                        + DataSize.ofBytes(maxArchiveBytes).toMegabytes() + "MB");
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Converte uma entrada em memória; roda no ForkJoinPool
+     *
+     * O lote já foi admitido: a entrada espera por uma vaga no
+     * ConversionScheduler (Admission.QUEUED) em vez de falhar quando as
+     * entradas do mesmo tipo passam do limite daquele tipo.
+     */
+    private EntryOutcome convertEntry(int index, BatchEntry entry, ConversionType type) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            fileConversionService.convertToStream(entry.source(), entry.size(), type, ConversionOptions.defaults(),
+                    output, ConversionScheduler.Admission.QUEUED);
+            return new EntryOutcome(index, entry.name(), type, output.toByteArray(), null);
+        } catch (Exception e) {
+            log.debug("Batch entry {} failed", entry.name(), e);
+            return new EntryOutcome(index, entry.name(), type, null, e.getMessage());
+        }
+    }
+
+    private void writeOutcome(EntryOutcome outcome, ZipOutputStream zip, SortedMap<Integer, BatchEntryResult> manifest,
+                              Set<String> outputNames) throws IOException {
+        if (outcome.error() != null) {
+            manifest.put(outcome.index(), failure(outcome.entryName(), outcome.type(), outcome.error()));
+            return;
+        }
+
+        String outputName = uniqueName(outputName(outcome.entryName(), outcome.type()), outputNames);
+        zip.putNextEntry(new ZipEntry(outputName));
+        zip.write(outcome.output());
+        zip.closeEntry();
+
+        manifest.put(outcome.index(), BatchEntryResult.builder()
+                .entryName(outcome.entryName())
+                .conversionType(outcome.type())
+                .success(true)
+                .outputName(outputName)
+                .fileSizeBytes((long) outcome.output().length)
+                .build());
+    }
+
+    private void writeManifest(ZipOutputStream zip, Collection<BatchEntryResult> manifest) throws IOException {
+        zip.putNextEntry(new ZipEntry(MANIFEST_NAME));
+        zip.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+        zip.closeEntry();
+    }
+
+    private BatchEntryResult failure(String entryName, ConversionType type, String error) {
+        return BatchEntryResult.builder()
+                .entryName(entryName)
+                .conversionType(type)
+                .success(false)
+                .error(error)
+                .build();
+    }
+
+    private ZipOutputStream ensureZip(ZipOutputStream zip, OutputStream outputStream) {
+        return zip != null ? zip : new ZipOutputStream(outputStream);
+    }
+
+    /**
+     * Nome de saída: caminho da entrada (sem "..") com a extensão do formato de saída
+     */
+    private String outputName(String entryName, ConversionType type) {
+        StringJoiner path = new StringJoiner("/");
+        for (String segment : entryName.replace('\\', '/').split("/")) {
+            if (!segment.isEmpty() && !segment.equals(".") && !segment.equals("..")) {
+                path.add(segment);
+            }
+        }
+        String name = path.length() > 0 ? path.toString() : "entry";
+        int dot = name.lastIndexOf('.');
+        if (dot > name.lastIndexOf('/') + 1) {
+            name = name.substring(0, dot);
+        }
+        return name + "." + type.getTargetFormat().getExtension();
+    }
+
+    private String uniqueName(String name, Set<String> used) {
+        String candidate = name;
+        int counter = 2;
+        while (candidate.equals(MANIFEST_NAME) || !used.add(candidate)) {
+            int dot = name.lastIndexOf('.');
+            candidate = name.substring(0, dot) + "_" + counter++ + name.substring(dot);
+        }
+        return candidate;
+    }
+
+    private static String baseName(String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+
+    private record BatchEntry(String name, InputStreamSource source, long size, String error) {
+    }
+
+    private record EntryOutcome(int index, String entryName, ConversionType type, byte[] output, String error) {
+    }
+
+    /**
+     * Percorre os arquivos avulsos e depois as entradas do ZIP, uma por vez
+     */
+    private final class EntryReader {
+
+        private final Iterator<MultipartFile> files;
+        private final ZipInputStream archive;
+
+        EntryReader(List<MultipartFile> files, InputStream archive) {
+            this.files = files.iterator();
+            this.archive = archive != null ? new ZipInputStream(archive) : null;
+        }
+
+        BatchEntry next() throws IOException {
+            while (files.hasNext()) {
+                MultipartFile file = files.next();
+                if (!file.isEmpty()) {
+                    String name = Objects.requireNonNullElse(file.getOriginalFilename(), "file");
+                    return new BatchEntry(name, file, file.getSize(), null);
+                }
+            }
+            if (archive == null) {
+                return null;
+            }
+
+            ZipEntry zipEntry;
+            while ((zipEntry = archive.getNextEntry()) != null) {
+                if (!zipEntry.isDirectory()) {
+                    return readEntry(zipEntry);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Lê uma entrada do ZIP até o limite; acima dele a entrada é registrada como falha
+         */
+        private BatchEntry readEntry(ZipEntry zipEntry) throws IOException {
+            long maxSize = properties.getMaxEntrySize().toBytes();
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = archive.read(buffer)) != -1) {
+                if (content.size() + read > maxSize) {
+                    return new BatchEntry(zipEntry.getName(), null, -1,
+                            "Entry exceeds the maximum size of " + properties.getMaxEntrySize().toMegabytes() + "MB");
+                }
+                content.write(buffer, 0, read);
+            }
+            byte[] bytes = content.toByteArray();
+            return new BatchEntry(zipEntry.getName(), new ByteArrayResource(bytes), bytes.length, null);
+        }
+    }
+}
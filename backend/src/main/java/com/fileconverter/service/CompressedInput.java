@@ -0,0 +1,53 @@
+package com.fileconverter.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Detecta entrada comprimida pelos primeiros bytes
+ *
+ * Entradas gzip são descomprimidas enquanto o conversor lê, com o tamanho
+ * descomprimido limitado para conter arquivos que expandem demais. zstd é
+ * reconhecido mas não há decodificador no classpath, então é recusado com
+ * uma mensagem clara em vez de falhar no parser do formato de origem.
+ */
+final class CompressedInput {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CompressedInput() {
+    }
+
+    /**
+     * Retorna a entrada descomprimida, ou a própria entrada se ela não estiver comprimida
+     *
+     * @param inputStream Entrada original
+     * @param maxInflatedBytes Tamanho máximo depois de descomprimir
+     */
+    static InputStream open(InputStream inputStream, long maxInflatedBytes) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        buffered.mark(4);
+        byte[] magic = buffered.readNBytes(4);
+        buffered.reset();
+
+        if (isGzip(magic)) {
+            return new SizeLimitedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), maxInflatedBytes,
+                    "Decompressed input");
+        }
+        if (isZstd(magic)) {
+            throw new IllegalArgumentException("zstd-compressed input is not supported, use gzip");
+        }
+        return buffered;
+    }
+
+    private static boolean isGzip(byte[] magic) {
+        return magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B;
+    }
+
+    private static boolean isZstd(byte[] magic) {
+        return magic.length == 4 && (magic[0] & 0xFF) == 0x28 && (magic[1] & 0xFF) == 0xB5
+                && (magic[2] & 0xFF) == 0x2F && (magic[3] & 0xFF) == 0xFD;
+    }
+}
@@ -0,0 +1,54 @@
+package com.fileconverter.service;
+
+import com.fileconverter.model.ConversionOptions;
+import com.fileconverter.model.ConversionResponse;
+import com.fileconverter.model.ConversionType;
+import com.fileconverter.model.JobStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Estado interno de um job de conversão assíncrona
+ * Atualizado pela thread do pool e lido pelas requisições de status
+ */
+@Getter
+class ConversionJob {
+
+    private final String id;
+    private final String originalFileName;
+    private final ConversionType conversionType;
+    private final ConversionOptions options;
+    private final Path inputFile;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile JobStatus status = JobStatus.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile ConversionResponse result;
+
+    ConversionJob(String id, String originalFileName, ConversionType conversionType, ConversionOptions options,
+                  Path inputFile) {
+        this.id = id;
+        this.originalFileName = originalFileName;
+        this.conversionType = conversionType;
+        this.options = options;
+        this.inputFile = inputFile;
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = JobStatus.RUNNING;
+    }
+
+    void markFinished(ConversionResponse response) {
+        result = response;
+        finishedAt = Instant.now();
+        status = response.isSuccess() ? JobStatus.COMPLETED : JobStatus.FAILED;
+    }
+
+    boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+    }
+}
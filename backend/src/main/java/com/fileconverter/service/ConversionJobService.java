@@ -0,0 +1,205 @@
+package com.fileconverter.service;
+
+import com.fileconverter.config.ConversionJobProperties;
+import com.fileconverter.exception.ConversionRejectedException;
+import com.fileconverter.exception.JobNotFoundException;
+import com.fileconverter.model.ConversionJobResponse;
+import com.fileconverter.model.ConversionOptions;
+import com.fileconverter.model.ConversionResponse;
+import com.fileconverter.model.ConversionType;
+import com.fileconverter.model.JobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service de conversões assíncronas
+ *
+ * O upload é copiado para um arquivo temporário e a conversão roda em um
+ * pool limitado, liberando a thread da requisição. O cliente acompanha o
+ * job pelo id e baixa o resultado quando estiver pronto. Jobs finalizados
+ * expiram após o TTL configurado, junto com o arquivo convertido.
+ *
+ * Com spring.threads.virtual.enabled=true (Java 21+) os workers do pool
+ * são virtual threads; o pool continua limitando a concorrência e a fila.
+ */
+@Slf4j
+@Service
+public class ConversionJobService {
+
+    private static final String JOBS_PATH = "/api/convert/jobs/";
+
+    private final FileConversionService fileConversionService;
+    private final ConversionJobProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ConversionJob> jobs = new ConcurrentHashMap<>();
+
+    public ConversionJobService(FileConversionService fileConversionService, ConversionJobProperties properties,
+                                Environment environment) {
+        this.fileConversionService = fileConversionService;
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(
+                properties.getCorePoolSize(),
+                properties.getMaxPoolSize(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Threading.VIRTUAL.isActive(environment)
+                        ? new VirtualThreadTaskExecutor("conversion-job-").getVirtualThreadFactory()
+                        : new JobThreadFactory());
+    }
+
+    /**
+     * Registra um job de conversão e retorna imediatamente
+     *
+     * @param file Arquivo de entrada
+     * @param conversionType Tipo de conversão
+     * @param options Opções da requisição
+     * @return Estado inicial do job
+     * @throws ConversionRejectedException se a fila estiver cheia
+     */
+    public ConversionJobResponse submit(MultipartFile file, ConversionType conversionType, ConversionOptions options)
+            throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Path inputFile = Files.createTempFile("conversion-job-", ".upload");
+        file.transferTo(inputFile);
+
+        ConversionJob job = new ConversionJob(jobId, file.getOriginalFilename(), conversionType, options, inputFile);
+        jobs.put(jobId, job);
+
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            Files.deleteIfExists(inputFile);
+            throw new ConversionRejectedException("Conversion queue is full", properties.getRetryAfter().toSeconds());
+        }
+
+        log.info("Conversion job {} queued: {} -> {}", jobId, job.getOriginalFileName(), conversionType);
+        return toResponse(job);
+    }
+
+    /**
+     * Retorna o estado de um job
+     *
+     * @throws JobNotFoundException se o job não existir ou já tiver expirado
+     */
+    public ConversionJobResponse getStatus(String jobId) {
+        return toResponse(findJob(jobId));
+    }
+
+    /**
+     * Retorna o arquivo convertido de um job concluído
+     *
+     * @return Resultado armazenado, ou null se o job ainda não terminou com sucesso
+     */
+    public ResultStore.StoredResult getResult(String jobId) throws IOException {
+        ConversionJob job = findJob(jobId);
+        if (job.getStatus() != JobStatus.COMPLETED) {
+            return null;
+        }
+        return fileConversionService.getConvertedFile(job.getResult().getConvertedFileName());
+    }
+
+    /**
+     * Remove jobs finalizados há mais tempo que o TTL
+     *
+     * O arquivo convertido fica: o ConversionResultCache pode tê-lo entregue
+     * a outras requisições com a mesma entrada, e quem remove resultados é
+     * o ResultStore (TTL e limite de tamanho).
+     */
+    @Scheduled(fixedDelayString = "${conversion.jobs.cleanup-interval:PT1M}")
+    public void expireJobs() {
+        Instant cutoff = Instant.now().minus(properties.getTtl());
+        jobs.values().removeIf(job -> {
+            if (!job.isFinished() || job.getFinishedAt().isAfter(cutoff)) {
+                return false;
+            }
+            log.debug("Conversion job {} expired", job.getId());
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ConversionJob job) {
+        job.markRunning();
+        try {
+            ConversionResponse response = fileConversionService.convert(new FileSystemResource(job.getInputFile()),
+                    job.getOriginalFileName(), Files.size(job.getInputFile()), job.getConversionType(), job.getOptions(),
+                    ConversionScheduler.Admission.QUEUED);
+            job.markFinished(response);
+            log.info("Conversion job {} finished: {}", job.getId(), job.getStatus());
+        } catch (IOException | RuntimeException e) {
+            log.error("Conversion job {} failed", job.getId(), e);
+            job.markFinished(ConversionResponse.builder()
+                    .success(false)
+                    .message("Conversion failed")
+                    .originalFileName(job.getOriginalFileName())
+                    .conversionType(job.getConversionType())
+                    .errorDetails(e.getMessage())
+                    .build());
+        } finally {
+            try {
+                Files.deleteIfExists(job.getInputFile());
+            } catch (IOException e) {
+                log.warn("Failed to delete job input file: {}", job.getInputFile(), e);
+            }
+        }
+    }
+
+    private ConversionJob findJob(String jobId) {
+        ConversionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    private ConversionJobResponse toResponse(ConversionJob job) {
+        return ConversionJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .originalFileName(job.getOriginalFileName())
+                .conversionType(job.getConversionType())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .statusUrl(JOBS_PATH + job.getId())
+                .resultUrl(job.getStatus() == JobStatus.COMPLETED ? JOBS_PATH + job.getId() + "/result" : null)
+                .result(job.getResult())
+                .build();
+    }
+
+    /**
+     * Nomeia as threads do pool para facilitar a leitura dos logs
+     */
+    private static class JobThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "conversion-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
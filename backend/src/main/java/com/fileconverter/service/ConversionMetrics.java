@@ -0,0 +1,238 @@
+package com.fileconverter.service;
+
+import com.fileconverter.converter.FileConverter;
+import com.fileconverter.converter.RowCounter;
+import com.fileconverter.model.ConversionOptions;
+import com.fileconverter.model.ConversionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Métricas por ConversionType, expostas em /actuator/prometheus
+ *
+ * Cada conversão executada por {@link #convert} registra:
+ * - conversion.duration: latência (histograma), com outcome success/failure
+ * - conversion.input.bytes / conversion.output.bytes: bytes lidos e escritos
+ *   pelo conversor (entrada já descomprimida, saída antes do gzip)
+ * - conversion.rows: registros processados, informados pelos conversores (ver RowCounter)
+ * - conversion.in.flight: conversões em andamento
+ * - conversion.failures: falhas, com o tipo da exceção
+ * - conversion.allocated.bytes: bytes alocados pela thread chamadora durante a conversão
+ *
+ * A alocação vem do ThreadMXBean e só cobre a thread que executa o conversor;
+ * blocos do CSV -> JSON paralelo e a origem de conversões encadeadas rodam em
+ * outras threads e não entram na conta. Em virtual threads a JVM não informa
+ * a alocação e a medida é omitida.
+ */
+@Slf4j
+@Component
+public class ConversionMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<ConversionType, Meters> meters = new EnumMap<>(ConversionType.class);
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    public ConversionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.threadBean = allocationBean();
+        for (ConversionType type : ConversionType.values()) {
+            meters.put(type, new Meters(type));
+        }
+    }
+
+    /**
+     * Executa a conversão registrando as métricas do tipo
+     *
+     * @param conversionType Tipo de conversão
+     * @param converter Conversor a executar
+     * @param inputStream Entrada da conversão
+     * @param outputStream Destino da saída convertida
+     * @param options Opções da requisição
+     */
+    public void convert(ConversionType conversionType, FileConverter converter, InputStream inputStream,
+                        OutputStream outputStream, ConversionOptions options) throws Exception {
+        Meters typeMeters = meters.get(conversionType);
+        CountingInputStream countingInput = new CountingInputStream(inputStream);
+        CountingOutputStream countingOutput = new CountingOutputStream(outputStream);
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        typeMeters.inFlight.incrementAndGet();
+        try (RowCounter rows = RowCounter.open()) {
+            converter.convert(countingInput, countingOutput, options);
+            typeMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            typeMeters.rows.increment(rows.get());
+        } catch (Throwable e) {
+            typeMeters.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder("conversion.failures")
+                    .description("Failed conversions by exception type")
+                    .tag("type", conversionType.name())
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            throw e;
+        } finally {
+            typeMeters.inFlight.decrementAndGet();
+            typeMeters.inputBytes.increment(countingInput.count);
+            typeMeters.outputBytes.increment(countingOutput.count);
+
+            long allocatedAfter = allocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= allocatedBefore) {
+                typeMeters.allocatedBytes.record(allocatedAfter - allocatedBefore);
+            }
+        }
+    }
+
+    /**
+     * Bytes alocados até agora pela thread atual, ou -1 se não disponível
+     */
+    private long allocatedBytes() {
+        return threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        }
+        log.warn("Thread allocation counters not supported by this JVM, conversion.allocated.bytes disabled");
+        return null;
+    }
+
+    /**
+     * Medidores de um tipo de conversão
+     */
+    private final class Meters {
+
+        private final Timer success;
+        private final Timer failure;
+        private final Counter inputBytes;
+        private final Counter outputBytes;
+        private final Counter rows;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final DistributionSummary allocatedBytes;
+
+        Meters(ConversionType type) {
+            String tag = type.name();
+            this.success = timer(tag, "success");
+            this.failure = timer(tag, "failure");
+            this.inputBytes = Counter.builder("conversion.input.bytes")
+                    .description("Bytes read by converters (after decompression)")
+                    .baseUnit("bytes")
+                    .tag("type", tag)
+                    .register(registry);
+            this.outputBytes = Counter.builder("conversion.output.bytes")
+                    .description("Bytes written by converters (before result compression)")
+                    .baseUnit("bytes")
+                    .tag("type", tag)
+                    .register(registry);
+            this.rows = Counter.builder("conversion.rows")
+                    .description("Records processed by converters")
+                    .tag("type", tag)
+                    .register(registry);
+            Gauge.builder("conversion.in.flight", inFlight, AtomicInteger::get)
+                    .description("Conversions currently running")
+                    .tag("type", tag)
+                    .register(registry);
+            this.allocatedBytes = DistributionSummary.builder("conversion.allocated.bytes")
+                    .description("Heap bytes allocated by the converting thread per conversion")
+                    .baseUnit("bytes")
+                    .tag("type", tag)
+                    .register(registry);
+        }
+
+        private Timer timer(String type, String outcome) {
+            return Timer.builder("conversion.duration")
+                    .description("Conversion latency")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Conta os bytes lidos pelo conversor
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+
+    /**
+     * Conta os bytes escritos pelo conversor
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
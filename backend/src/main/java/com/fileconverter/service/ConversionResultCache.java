@@ -0,0 +1,173 @@
+package com.fileconverter.service;
+
+import com.fileconverter.config.ConversionCacheProperties;
+import com.fileconverter.model.ConversionOptions;
+import com.fileconverter.model.ConversionResponse;
+import com.fileconverter.model.ConversionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache de resultados endereçado pelo conteúdo da entrada
+ *
+ * A chave é o SHA-256 dos bytes de entrada mais o tipo de conversão, então
+ * um arquivo reenviado reaproveita o resultado já gravado em output/.
+ * Requisições idênticas que chegam ao mesmo tempo compartilham uma única
+ * conversão em andamento. Só conversões bem-sucedidas entram no cache;
+ * o tamanho e a política de remoção (LRU ou FIFO) são configuráveis.
+ */
+@Slf4j
+@Component
+public class ConversionResultCache {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ConversionCacheProperties properties;
+    private final Map<String, CachedResult> entries;
+    private final Map<String, CompletableFuture<ConversionResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ConversionResultCache(ConversionCacheProperties properties) {
+        this.properties = properties;
+        boolean accessOrder = properties.getEvictionPolicy() == ConversionCacheProperties.EvictionPolicy.LRU;
+        this.entries = new LinkedHashMap<>(16, 0.75f, accessOrder) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Calcula a chave do cache lendo a entrada uma vez
+     *
+     * @param source Fonte do conteúdo de entrada
+     * @param conversionType Tipo de conversão
+     * @param options Opções que mudam o resultado
+     * @return Chave no formato TIPO[+opções]:sha256
+     */
+    public String key(InputStreamSource source, ConversionType conversionType, ConversionOptions options)
+            throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream inputStream = source.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return conversionType + options.cacheSuffix() + ":" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Retorna o resultado em cache ou executa a conversão
+     *
+     * Se já houver uma conversão em andamento para a mesma chave, aguarda
+     * o resultado dela em vez de converter de novo.
+     *
+     * @param key Chave calculada por {@link #key}
+     * @param isValid Verifica se o resultado em cache ainda pode ser servido (ex.: arquivo existe)
+     * @param conversion Conversão a executar em caso de miss
+     * @return Resultado da conversão, com cached=true quando reaproveitado
+     */
+    public ConversionResponse get(String key, Predicate<ConversionResponse> isValid,
+                                  Supplier<ConversionResponse> conversion) {
+        ConversionResponse cached = lookup(key, isValid);
+        if (cached != null) {
+            log.debug("Conversion cache hit: {}", key);
+            return cached.toBuilder().cached(true).build();
+        }
+
+        CompletableFuture<ConversionResponse> pending = new CompletableFuture<>();
+        CompletableFuture<ConversionResponse> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            log.debug("Joining in-flight conversion: {}", key);
+            return await(existing).toBuilder().cached(true).build();
+        }
+
+        try {
+            ConversionResponse response = conversion.get();
+            if (response.isSuccess()) {
+                store(key, response);
+            }
+            pending.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+    }
+
+    private ConversionResponse lookup(String key, Predicate<ConversionResponse> isValid) {
+        lock.lock();
+        try {
+            CachedResult entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt().isBefore(Instant.now()) || !isValid.test(entry.response())) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.response();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void store(String key, ConversionResponse response) {
+        lock.lock();
+        try {
+            entries.put(key, new CachedResult(response, Instant.now().plus(properties.getTtl())));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Aguarda a conversão de outra requisição, repassando a exceção original
+     */
+    private ConversionResponse await(CompletableFuture<ConversionResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedResult(ConversionResponse response, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.fileconverter.service;
+
+import com.fileconverter.config.ConversionSchedulerProperties;
+import com.fileconverter.exception.ConversionRejectedException;
+import com.fileconverter.model.ConversionType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Controle de admissão entre o FileConversionService e os conversores
+ *
+ * Cada tipo de conversão tem seu próprio limite de execuções simultâneas
+ * (bulkhead), de modo que uma rajada de conversões pesadas não ocupa as
+ * vagas das leves. Entradas pequenas usam uma faixa rápida separada. Além
+ * disso, a memória estimada das conversões em andamento é limitada por um
+ * orçamento global. Sem vaga, uma requisição HTTP é rejeitada na hora com
+ * ConversionRejectedException (503 + Retry-After) em vez de esperar em fila.
+ * Trabalho já aceito (jobs assíncronos, entradas de um lote) usa
+ * Admission.QUEUED e espera pela vaga até queued-acquire-timeout.
+ */
+@Slf4j
+@Component
+public class ConversionScheduler {
+
+    private static final Permit NO_OP_PERMIT = new Permit(null, null, 0);
+
+    private final ConversionSchedulerProperties properties;
+    private final Map<ConversionType, Semaphore> lanes = new EnumMap<>(ConversionType.class);
+    private final Semaphore smallInputLane;
+    private final ReentrantLock memoryLock = new ReentrantLock();
+    private final Condition memoryReleased = memoryLock.newCondition();
+    private long reservedMemory;
+
+    /**
+     * Origem da conversão, que define quanto ela pode esperar por uma vaga
+     */
+    public enum Admission {
+        /**
+         * Requisição HTTP síncrona: espera no máximo acquire-timeout e é rejeitada
+         */
+        IMMEDIATE,
+        /**
+         * Trabalho já aceito (job, entrada de lote): espera até queued-acquire-timeout
+         */
+        QUEUED
+    }
+
+    public ConversionScheduler(ConversionSchedulerProperties properties) {
+        this.properties = properties;
+        for (ConversionType type : ConversionType.values()) {
+            int permits = properties.getConcurrency().getOrDefault(type, properties.getDefaultConcurrency());
+            lanes.put(type, new Semaphore(permits));
+        }
+        this.smallInputLane = new Semaphore(properties.getSmallInputConcurrency());
+    }
+
+    /**
+     * Reserva uma vaga para uma conversão pedida por HTTP (Admission.IMMEDIATE)
+     *
+     * @see #acquire(ConversionType, long, Admission)
+     */
+    public Permit acquire(ConversionType conversionType, long inputSize) {
+        return acquire(conversionType, inputSize, Admission.IMMEDIATE);
+    }
+
+    /**
+     * Reserva uma vaga para a conversão
+     *
+     * @param conversionType Tipo de conversão
+     * @param inputSize Tamanho da entrada em bytes, ou -1 se desconhecido
+     * @param admission Origem da conversão, que define o tempo máximo de espera
+     * @return Permit a ser fechado ao fim da conversão
+     * @throws ConversionRejectedException se não houver vaga ou memória disponível dentro do tempo de espera
+     */
+    public Permit acquire(ConversionType conversionType, long inputSize, Admission admission) {
+        if (!properties.isEnabled()) {
+            return NO_OP_PERMIT;
+        }
+
+        Duration timeout = admission == Admission.QUEUED
+                ? properties.getQueuedAcquireTimeout()
+                : properties.getAcquireTimeout();
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        boolean small = inputSize >= 0 && inputSize <= properties.getSmallInputThreshold().toBytes();
+        Semaphore lane = small ? smallInputLane : lanes.get(conversionType);
+        long memory = estimateMemory(conversionType, inputSize);
+
+        // Primeiro a vaga do tipo, depois a memória: quem espera por uma faixa
+        // cheia não segura parte do orçamento que conversões de outros tipos usariam
+        try {
+            if (!lane.tryAcquire(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS)) {
+                throw reject(conversionType, small ? "small input lane is full" : "concurrency limit reached");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw reject(conversionType, "interrupted while waiting");
+        }
+
+        try {
+            if (!reserveMemory(memory, deadline)) {
+                lane.release();
+                throw reject(conversionType, "memory budget exhausted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            lane.release();
+            throw reject(conversionType, "interrupted while waiting");
+        }
+
+        return new Permit(this, lane, memory);
+    }
+
+    /**
+     * Memória atualmente reservada pelas conversões em andamento
+     */
+    public long getReservedMemory() {
+        memoryLock.lock();
+        try {
+            return reservedMemory;
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    /**
+     * Memória estimada da conversão; entradas de tamanho desconhecido (uploads
+     * chunked) contam como unknown-input-size
+     */
+    private long estimateMemory(ConversionType conversionType, long inputSize) {
+        double factor = properties.getMemoryFactor().getOrDefault(conversionType, properties.getDefaultMemoryFactor());
+        long size = inputSize >= 0 ? inputSize : properties.getUnknownInputSize().toBytes();
+        return (long) (size * factor);
+    }
+
+    /**
+     * Reserva memória do orçamento, esperando até o deadline (System.nanoTime)
+     * que outras conversões a liberem; uma conversão sozinha sempre é aceita,
+     * mesmo que sua estimativa passe do orçamento
+     *
+     * Usa ReentrantLock em vez de synchronized/wait para não prender a thread
+     * portadora quando a espera acontece em uma virtual thread.
+     */
+    private boolean reserveMemory(long memory, long deadline) throws InterruptedException {
+        long budget = properties.getMemoryBudget().toBytes();
+        memoryLock.lock();
+        try {
+            while (reservedMemory > 0 && reservedMemory + memory > budget) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                memoryReleased.awaitNanos(remaining);
+            }
+            reservedMemory += memory;
+            return true;
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private void releaseMemory(long memory) {
+        memoryLock.lock();
+        try {
+            reservedMemory -= memory;
+            memoryReleased.signalAll();
+        } finally {
+            memoryLock.unlock();
+        }
+    }
+
+    private ConversionRejectedException reject(ConversionType conversionType, String reason) {
+        log.warn("Conversion rejected: {} ({})", conversionType, reason);
+        return new ConversionRejectedException(
+                "Too many concurrent " + conversionType + " conversions: " + reason,
+                properties.getRetryAfter().toSeconds());
+    }
+
+    /**
+     * Vaga reservada para uma conversão; fechar libera a vaga e a memória
+     */
+    public static final class Permit implements AutoCloseable {
+
+        private final ConversionScheduler scheduler;
+        private final Semaphore lane;
+        private final long memory;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(ConversionScheduler scheduler, Semaphore lane, long memory) {
+            this.scheduler = scheduler;
+            this.lane = lane;
+            this.memory = memory;
+        }
+
+        @Override
+        public void close() {
+            if (scheduler == null || !released.compareAndSet(false, true)) {
+                return;
+            }
+            lane.release();
+            scheduler.releaseMemory(memory);
+        }
+    }
+}
@@ -1,32 +1,54 @@
 package com.fileconverter.service;
 
+import com.fileconverter.config.CompressedInputProperties;
 import com.fileconverter.converter.FileConverter;
+import com.fileconverter.exception.ConversionRejectedException;
+import com.fileconverter.exception.FileConversionException;
+import com.fileconverter.exception.UploadTooLargeException;
 import com.fileconverter.factory.ConverterFactory;
+import com.fileconverter.model.ConversionOptions;
 import com.fileconverter.model.ConversionResponse;
 import com.fileconverter.model.ConversionType;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.UUID;
 
 /**
  * Service responsável pela lógica de conversão de arquivos
+ *
+ * Entradas gzip são reconhecidas pelos primeiros bytes e descomprimidas
+ * durante a conversão (ver CompressedInput). Toda conversão passa pelo
+ * ConversionMetrics.
  */
 @Slf4j
 @Service
 public class FileConversionService {
 
     private final ConverterFactory converterFactory;
-    private final String OUTPUT_DIR = "output/";
+    private final ConversionScheduler conversionScheduler;
+    private final ConversionResultCache resultCache;
+    private final ResultStore resultStore;
+    private final CompressedInputProperties compressedInputProperties;
+    private final ConversionMetrics conversionMetrics;
 
-    public FileConversionService(ConverterFactory converterFactory) {
+    public FileConversionService(ConverterFactory converterFactory, ConversionScheduler conversionScheduler,
+                                 ConversionResultCache resultCache, ResultStore resultStore,
+                                 CompressedInputProperties compressedInputProperties,
+                                 ConversionMetrics conversionMetrics) {
         this.converterFactory = converterFactory;
-        createOutputDirectory();
+        this.conversionScheduler = conversionScheduler;
+        this.resultCache = resultCache;
+        this.resultStore = resultStore;
+        this.compressedInputProperties = compressedInputProperties;
+        this.conversionMetrics = conversionMetrics;
     }
 
     /**
@@ -34,35 +56,163 @@ public class FileConversionService {
      * 
      * @param file Arquivo de entrada
      * @param conversionType Tipo de conversão
+     * @param options Opções da requisição
      * @return ConversionResponse com detalhes da conversão
      */
-    public ConversionResponse convertFile(MultipartFile file, ConversionType conversionType) {
+    public ConversionResponse convertFile(MultipartFile file, ConversionType conversionType,
+                                          ConversionOptions options) {
+        return convert(file, file.getOriginalFilename(), file.getSize(), conversionType, options);
+    }
+
+    /**
+     * Converte o conteúdo de uma fonte qualquer (upload, arquivo temporário de um job...)
+     * 
+     * Entradas idênticas para o mesmo tipo reaproveitam o resultado do ConversionResultCache.
+     * 
+     * @param source Fonte do conteúdo de entrada
+     * @param originalFileName Nome original do arquivo
+     * @param sizeBytes Tamanho da entrada em bytes, ou -1 se desconhecido
+     * @param conversionType Tipo de conversão
+     * @param options Opções da requisição
+     * @return ConversionResponse com detalhes da conversão
+     * @throws ConversionRejectedException se o ConversionScheduler não tiver vaga
+     */
+    public ConversionResponse convert(InputStreamSource source, String originalFileName, long sizeBytes,
+                                      ConversionType conversionType, ConversionOptions options) {
+        return convert(source, originalFileName, sizeBytes, conversionType, options,
+                ConversionScheduler.Admission.IMMEDIATE);
+    }
+
+    /**
+     * Como convert(source, originalFileName, sizeBytes, conversionType, options), com a
+     * admissão escolhida pelo chamador (Admission.QUEUED espera pela vaga em vez de rejeitar)
+     */
+    public ConversionResponse convert(InputStreamSource source, String originalFileName, long sizeBytes,
+                                      ConversionType conversionType, ConversionOptions options,
+                                      ConversionScheduler.Admission admission) {
+        if (!resultCache.isEnabled()) {
+            return convertUncached(source, originalFileName, sizeBytes, conversionType, options, admission);
+        }
+
+        String cacheKey;
+        try {
+            cacheKey = resultCache.key(source, conversionType, options);
+        } catch (IOException e) {
+            log.warn("Failed to hash input, converting without cache: {}", originalFileName, e);
+            return convertUncached(source, originalFileName, sizeBytes, conversionType, options, admission);
+        }
+
+        ConversionResponse response = resultCache.get(cacheKey,
+                cached -> resultStore.contains(cached.getConvertedFileName()),
+                () -> convertUncached(source, originalFileName, sizeBytes, conversionType, options, admission));
+        return response.isCached() ? response.toBuilder().originalFileName(originalFileName).build() : response;
+    }
+
+    /**
+     * Converte um corpo de requisição lido uma única vez, sem cache
+     * 
+     * O conversor lê direto do stream, enquanto o upload ainda chega;
+     * o limite de tamanho é aplicado durante a leitura.
+     * 
+     * @param inputStream Corpo da requisição
+     * @param originalFileName Nome original do arquivo
+     * @param sizeBytes Content-Length, ou -1 se desconhecido
+     * @param maxBytes Tamanho máximo aceito
+     * @param conversionType Tipo de conversão
+     * @param options Opções da requisição
+     * @return ConversionResponse com detalhes da conversão
+     * @throws UploadTooLargeException se o corpo passar de maxBytes
+     */
+    public ConversionResponse convertStream(InputStream inputStream, String originalFileName, long sizeBytes,
+                                            long maxBytes, ConversionType conversionType, ConversionOptions options) {
+        if (sizeBytes > maxBytes) {
+            throw new UploadTooLargeException(tooLargeMessage(maxBytes));
+        }
+
+        SizeLimitedInputStream limitedStream = new SizeLimitedInputStream(inputStream, maxBytes);
+        ConversionResponse response = convertUncached(() -> limitedStream, originalFileName, sizeBytes, conversionType,
+                options, ConversionScheduler.Admission.IMMEDIATE);
+        if (limitedStream.isExceeded()) {
+            throw new UploadTooLargeException(tooLargeMessage(maxBytes));
+        }
+        return response;
+    }
+
+    /**
+     * Converte direto para um OutputStream, sem gravar o resultado no ResultStore
+     * 
+     * Erros de conversão são lançados em vez de virar um ConversionResponse.
+     * 
+     * @param source Fonte do conteúdo de entrada
+     * @param sizeBytes Tamanho da entrada em bytes, ou -1 se desconhecido
+     * @param conversionType Tipo de conversão
+     * @param options Opções da requisição (compressResult não se aplica)
+     * @param outputStream Destino da saída convertida
+     * @throws ConversionRejectedException se o ConversionScheduler não tiver vaga
+     * @throws FileConversionException se a conversão falhar
+     */
+    public void convertToStream(InputStreamSource source, long sizeBytes, ConversionType conversionType,
+                                ConversionOptions options, OutputStream outputStream) throws IOException {
+        convertToStream(source, sizeBytes, conversionType, options, outputStream,
+                ConversionScheduler.Admission.IMMEDIATE);
+    }
+
+    /**
+     * Como convertToStream(source, sizeBytes, conversionType, options, outputStream), com a
+     * admissão escolhida pelo chamador (Admission.QUEUED espera pela vaga em vez de rejeitar)
+     */
+    public void convertToStream(InputStreamSource source, long sizeBytes, ConversionType conversionType,
+                                ConversionOptions options, OutputStream outputStream,
+                                ConversionScheduler.Admission admission) throws IOException {
+        try (ConversionScheduler.Permit permit = conversionScheduler.acquire(conversionType, sizeBytes, admission);
+             InputStream inputStream = openInput(source)) {
+
+            log.info("Starting streaming conversion: {}", conversionType);
+            conversionMetrics.convert(conversionType, converterFactory.getConverter(conversionType),
+                    inputStream, outputStream, options.toBuilder().inputSize(sizeBytes).build());
+        } catch (IllegalArgumentException | FileConversionException | ConversionRejectedException | IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FileConversionException("Conversion failed: " + e.getMessage(), e);
+        }
+    }
+
+    private ConversionResponse convertUncached(InputStreamSource source, String originalFileName, long sizeBytes,
+                                               ConversionType conversionType, ConversionOptions options,
+                                               ConversionScheduler.Admission admission) {
+        try (ConversionScheduler.Permit permit = conversionScheduler.acquire(conversionType, sizeBytes, admission)) {
+            return doConvert(source, originalFileName, conversionType,
+                    options.toBuilder().inputSize(sizeBytes).build());
+        }
+    }
+
+    private ConversionResponse doConvert(InputStreamSource source, String originalFileName,
+                                         ConversionType conversionType, ConversionOptions options) {
         try {
-            log.info("Starting conversion: {} -> {}", file.getOriginalFilename(), conversionType);
+            log.info("Starting conversion: {} -> {}", originalFileName, conversionType);
             
             // Obtém o conversor apropriado
             FileConverter converter = converterFactory.getConverter(conversionType);
             
-            // Gera nome único para arquivo de saída
-            String outputFileName = generateOutputFileName(file.getOriginalFilename(), conversionType);
-            Path outputPath = Paths.get(OUTPUT_DIR + outputFileName);
-            
-            // Realiza a conversão
-            try (InputStream inputStream = file.getInputStream();
-                 OutputStream outputStream = new FileOutputStream(outputPath.toFile())) {
+            // Realiza a conversão e publica o resultado no ResultStore
+            // (o nome final recebe ".gz" quando o resultado é comprimido)
+            String outputFileName;
+            long fileSize;
+            try (InputStream inputStream = openInput(source);
+                 ResultStore.PendingResult result = resultStore.create(
+                         generateOutputFileName(originalFileName, conversionType), options.isCompressResult())) {
                 
-                converter.convert(inputStream, outputStream);
+                conversionMetrics.convert(conversionType, converter, inputStream, result.getOutputStream(), options);
+                fileSize = result.commit();
+                outputFileName = result.getFileName();
             }
             
-            // Calcula tamanho do arquivo
-            long fileSize = Files.size(outputPath);
-            
             log.info("Conversion successful: {}", outputFileName);
             
             return ConversionResponse.builder()
                     .success(true)
                     .message("File converted successfully")
-                    .originalFileName(file.getOriginalFilename())
+                    .originalFileName(originalFileName)
                     .convertedFileName(outputFileName)
                     .conversionType(conversionType)
                     .fileSizeBytes(fileSize)
@@ -74,7 +224,7 @@ public class FileConversionService {
             return ConversionResponse.builder()
                     .success(false)
                     .message("Conversion failed")
-                    .originalFileName(file.getOriginalFilename())
+                    .originalFileName(originalFileName)
                     .conversionType(conversionType)
                     .errorDetails(e.getMessage())
                     .build();
@@ -85,51 +235,48 @@ public class FileConversionService {
      * Retorna um arquivo convertido para download
      * 
      * @param fileName Nome do arquivo
-     * @return File
+     * @return Resultado armazenado (em disco ou em memória)
+     * @throws FileNotFoundException se o resultado não existir ou tiver expirado
      */
-    public File getConvertedFile(String fileName) throws IOException {
-        Path filePath = Paths.get(OUTPUT_DIR + fileName);
-        if (!Files.exists(filePath)) {
+    public ResultStore.StoredResult getConvertedFile(String fileName) throws FileNotFoundException {
+        ResultStore.StoredResult result = resultStore.get(fileName);
+        if (result == null) {
             throw new FileNotFoundException("File not found: " + fileName);
         }
-        return filePath.toFile();
+        return result;
     }
 
     /**
-     * Gera nome único para arquivo de saída
+     * Abre a entrada, descomprimindo gzip quando habilitado
      */
-    private String generateOutputFileName(String originalFileName, ConversionType conversionType) {
-        String baseName = originalFileName.substring(0, originalFileName.lastIndexOf('.'));
-        String extension = getOutputExtension(conversionType);
-        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
-        return baseName + "_" + uniqueId + "." + extension;
+    private InputStream openInput(InputStreamSource source) throws IOException {
+        InputStream inputStream = source.getInputStream();
+        if (!compressedInputProperties.isEnabled()) {
+            return inputStream;
+        }
+        try {
+            return CompressedInput.open(inputStream, compressedInputProperties.getMaxInflatedSize().toBytes());
+        } catch (IOException | RuntimeException e) {
+            inputStream.close();
+            throw e;
+        }
     }
 
-    /**
-     * Retorna a extensão do arquivo de saída baseado no tipo de conversão
-     */
-    private String getOutputExtension(ConversionType conversionType) {
-        return switch (conversionType) {
-            case CSV_TO_JSON, XML_TO_JSON -> "json";
-            case JSON_TO_CSV -> "csv";
-            case JSON_TO_XML -> "xml";
-            case CSV_TO_EXCEL -> "xlsx";
-            case TEXT_TO_PDF, JSON_TO_PDF -> "pdf";
-        };
+    private String tooLargeMessage(long maxBytes) {
+        return "Upload exceeds the maximum size of " + DataSize.ofBytes(maxBytes).toMegabytes() + "MB";
     }
 
     /**
-     * Cria o diretório de saída se não existir
+     * Gera nome único para arquivo de saída
      */
-    private void createOutputDirectory() {
-        try {
-            Path outputPath = Paths.get(OUTPUT_DIR);
-            if (!Files.exists(outputPath)) {
-                Files.createDirectories(outputPath);
-                log.info("Output directory created: {}", OUTPUT_DIR);
-            }
-        } catch (IOException e) {
-            log.error("Failed to create output directory", e);
+    private String generateOutputFileName(String originalFileName, ConversionType conversionType) {
+        if (originalFileName.endsWith(".gz")) {
+            originalFileName = originalFileName.substring(0, originalFileName.length() - 3);
         }
+        int dot = originalFileName.lastIndexOf('.');
+        String baseName = dot > 0 ? originalFileName.substring(0, dot) : originalFileName;
+        String extension = conversionType.getTargetFormat().getExtension();
+        String uniqueId = UUID.randomUUID().toString().substring(0, 8);
+        return baseName + "_" + uniqueId + "." + extension;
     }
 }
@@ -0,0 +1,565 @@
+package com.fileconverter.service;
+
+import com.fileconverter.config.ResultStoreProperties;
+import com.fileconverter.model.FileFormat;
+import com.fileconverter.model.ResultStoreStats;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Armazenamento limitado dos arquivos convertidos
+ *
+ * Mantém um índice em memória dos resultados, com TTL e um orçamento total
+ * de bytes; quando o orçamento estoura, os resultados usados há mais tempo
+ * são removidos (LRU). Resultados pequenos ficam só em memória e não tocam
+ * o disco. Os demais são gravados em um arquivo ".part" e renomeados ao
+ * final, de modo que o índice pode ser reconstruído a partir do diretório
+ * na inicialização (resultados em memória não sobrevivem a um restart).
+ *
+ * Resultados criados com compressão são gravados com gzip e recebem o
+ * sufixo ".gz" no nome; o tamanho e o orçamento contam os bytes comprimidos.
+ */
+@Slf4j
+@Component
+public class ResultStore {
+
+    private static final String PART_SUFFIX = ".part";
+    private static final String GZIP_SUFFIX = ".gz";
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    private final ResultStoreProperties properties;
+    private final Path directory;
+    private final LinkedHashMap<String, StoredResult> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private long totalBytes;
+    private long memoryBytes;
+
+    public ResultStore(ResultStoreProperties properties) {
+        this.properties = properties;
+        this.directory = Paths.get(properties.getDirectory()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Cria o diretório de saída e reconstrói o índice a partir dos arquivos existentes
+     */
+    @PostConstruct
+    public void rebuildIndex() throws IOException {
+        Files.createDirectories(directory);
+
+        List<StoredResult> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                if (file.getFileName().toString().endsWith(PART_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                found.add(new StoredResult(file.getFileName().toString(), Files.size(file), file, null,
+                        Files.getLastModifiedTime(file).toInstant()));
+            }
+        }
+        found.sort(Comparator.comparing(StoredResult::getCreatedAt));
+
+        List<Path> toDelete;
+        lock.lock();
+        try {
+            index.clear();
+            totalBytes = 0;
+            memoryBytes = 0;
+            for (StoredResult result : found) {
+                index.put(result.getFileName(), result);
+                totalBytes += result.getSize();
+            }
+            toDelete = evictOverBudget(null);
+        } finally {
+            lock.unlock();
+        }
+        deleteFiles(toDelete);
+        evictExpired();
+
+        log.info("Result store ready at {}: {} results, {} bytes", directory, index.size(), totalBytes);
+    }
+
+    /**
+     * Inicia a gravação de um resultado; ele só fica visível após {@link PendingResult#commit()}
+     *
+     * @param fileName Nome do arquivo de saída
+     */
+    public PendingResult create(String fileName) throws IOException {
+        return create(fileName, false);
+    }
+
+    /**
+     * Inicia a gravação de um resultado, opcionalmente comprimido com gzip
+     *
+     * @param fileName Nome do arquivo de saída, sem o sufixo ".gz"
+     * @param compressed Grava com gzip; o nome final é obtido de {@link PendingResult#getFileName()}
+     */
+    public PendingResult create(String fileName, boolean compressed) throws IOException {
+        return new PendingResult(compressed ? fileName + GZIP_SUFFIX : fileName, compressed);
+    }
+
+    /**
+     * Busca um resultado, contando hit ou miss
+     *
+     * @return StoredResult, ou null se não existir ou tiver expirado
+     */
+    public StoredResult get(String fileName) {
+        StoredResult result = lookup(fileName);
+        (result != null ? hits : misses).incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Verifica se um resultado está disponível, sem afetar os contadores nem a ordem LRU
+     */
+    public boolean contains(String fileName) {
+        lock.lock();
+        try {
+            StoredResult result = index.get(fileName);
+            return result != null && !isExpired(result, Instant.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove um resultado, se existir
+     */
+    public void delete(String fileName) {
+        StoredResult removed;
+        lock.lock();
+        try {
+            removed = remove(fileName);
+        } finally {
+            lock.unlock();
+        }
+        if (removed != null && removed.getPath() != null) {
+            deleteFiles(List.of(removed.getPath()));
+        }
+    }
+
+    /**
+     * Remove os resultados com TTL vencido
+     */
+    @Scheduled(fixedDelayString = "${file.output.cleanup-interval:PT1M}")
+    public void evictExpired() {
+        Instant now = Instant.now();
+        List<Path> toDelete = new ArrayList<>();
+        lock.lock();
+        try {
+            Iterator<StoredResult> iterator = index.values().iterator();
+            while (iterator.hasNext()) {
+                StoredResult result = iterator.next();
+                if (isExpired(result, now)) {
+                    iterator.remove();
+                    release(result);
+                    expirations.incrementAndGet();
+                    if (result.getPath() != null) {
+                        toDelete.add(result.getPath());
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        deleteFiles(toDelete);
+    }
+
+    public ResultStoreStats getStats() {
+        lock.lock();
+        try {
+            return ResultStoreStats.builder()
+                    .hits(hits.get())
+                    .misses(misses.get())
+                    .evictions(evictions.get())
+                    .expirations(expirations.get())
+                    .entries(index.size())
+                    .memoryEntries((int) index.values().stream().filter(StoredResult::isInMemory).count())
+                    .totalBytes(totalBytes)
+                    .memoryBytes(memoryBytes)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private StoredResult lookup(String fileName) {
+        StoredResult expired;
+        lock.lock();
+        try {
+            StoredResult result = index.get(fileName);
+            if (result == null || !isExpired(result, Instant.now())) {
+                return result;
+            }
+            expired = remove(fileName);
+            expirations.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+        if (expired.getPath() != null) {
+            deleteFiles(List.of(expired.getPath()));
+        }
+        return null;
+    }
+
+    /**
+     * Registra um resultado concluído e aplica o orçamento de bytes
+     *
+     * Resultados em memória já tiveram seu tamanho somado em reserveMemory().
+     */
+    private void register(StoredResult result) {
+        List<Path> toDelete;
+        lock.lock();
+        try {
+            StoredResult previous = index.put(result.getFileName(), result);
+            if (previous != null) {
+                release(previous);
+            }
+            totalBytes += result.getSize();
+            toDelete = evictOverBudget(result.getFileName());
+        } finally {
+            lock.unlock();
+        }
+        deleteFiles(toDelete);
+    }
+
+    /**
+     * Reserva espaço no nível de memória; sem espaço, o resultado vai para o disco
+     *
+     * O tamanho já fica somado em memoryBytes, de modo que commits
+     * simultâneos não passam juntos de max-memory-size.
+     */
+    private boolean reserveMemory(long size) {
+        lock.lock();
+        try {
+            if (memoryBytes + size > properties.getMaxMemorySize().toBytes()) {
+                return false;
+            }
+            memoryBytes += size;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve uma reserva de reserveMemory() cujo resultado não chegou a ser registrado
+     */
+    private void releaseMemory(long size) {
+        lock.lock();
+        try {
+            memoryBytes -= size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove os resultados usados há mais tempo até caber no orçamento; chamado com o lock
+     */
+    private List<Path> evictOverBudget(String keep) {
+        List<Path> toDelete = new ArrayList<>();
+        long budget = properties.getMaxTotalSize().toBytes();
+        Iterator<StoredResult> iterator = index.values().iterator();
+        while (totalBytes > budget && iterator.hasNext()) {
+            StoredResult eldest = iterator.next();
+            if (eldest.getFileName().equals(keep)) {
+                continue;
+            }
+            iterator.remove();
+            release(eldest);
+            evictions.incrementAndGet();
+            if (eldest.getPath() != null) {
+                toDelete.add(eldest.getPath());
+            }
+            log.debug("Evicted result: {}", eldest.getFileName());
+        }
+        return toDelete;
+    }
+
+    private StoredResult remove(String fileName) {
+        StoredResult removed = index.remove(fileName);
+        if (removed != null) {
+            release(removed);
+        }
+        return removed;
+    }
+
+    private void release(StoredResult result) {
+        totalBytes -= result.getSize();
+        if (result.isInMemory()) {
+            memoryBytes -= result.getSize();
+        }
+    }
+
+    private boolean isExpired(StoredResult result, Instant now) {
+        return result.getCreatedAt().plus(properties.getTtl()).isBefore(now);
+    }
+
+    private void deleteFiles(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete result file: {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Resolve o nome dentro do diretório de saída, recusando caminhos fora dele
+     */
+    private Path resolve(String fileName) {
+        Path path = directory.resolve(fileName).normalize();
+        if (!path.getParent().equals(directory)) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        return path;
+    }
+
+    /**
+     * Resultado armazenado, em disco ou em memória
+     */
+    public static final class StoredResult {
+
+        private final String fileName;
+        private final long size;
+        private final Path path;
+        private final byte[] content;
+        private final Instant createdAt;
+
+        private StoredResult(String fileName, long size, Path path, byte[] content, Instant createdAt) {
+            this.fileName = fileName;
+            this.size = size;
+            this.path = path;
+            this.content = content;
+            this.createdAt = createdAt;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Caminho do arquivo, ou null se o resultado estiver em memória
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        public Instant getCreatedAt() {
+            return createdAt;
+        }
+
+        public boolean isInMemory() {
+            return content != null;
+        }
+
+        /**
+         * ETag forte; um resultado nunca muda depois de publicado
+         */
+        public String getETag() {
+            return "\"" + Integer.toHexString(fileName.hashCode()) + "-" + Long.toHexString(size)
+                    + "-" + Long.toHexString(createdAt.toEpochMilli()) + "\"";
+        }
+
+        /**
+         * Indica se o conteúdo está gravado com gzip
+         */
+        public boolean isCompressed() {
+            return fileName.endsWith(GZIP_SUFFIX);
+        }
+
+        /**
+         * Nome do conteúdo depois de descomprimido
+         */
+        public String getContentFileName() {
+            return isCompressed() ? fileName.substring(0, fileName.length() - GZIP_SUFFIX.length()) : fileName;
+        }
+
+        public String getContentType() {
+            return FileFormat.contentTypeOf(getContentFileName());
+        }
+
+        /**
+         * Copia o trecho [start, start + length) para o destino
+         *
+         * Arquivos em disco usam FileChannel.transferTo, sem passar pelo heap.
+         */
+        public void transferTo(long start, long length, WritableByteChannel target) throws IOException {
+            if (content != null) {
+                target.write(ByteBuffer.wrap(content, (int) start, (int) length));
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long position = start;
+                long end = start + length;
+                while (position < end) {
+                    position += channel.transferTo(position, end - position, target);
+                }
+            }
+        }
+
+        public InputStream openStream() throws IOException {
+            return content != null ? new ByteArrayInputStream(content) : Files.newInputStream(path);
+        }
+    }
+
+    /**
+     * Resultado em gravação
+     *
+     * Os bytes ficam em memória até passarem do limite do nível de memória;
+     * a partir daí vão para um arquivo ".part". Fechar sem commit descarta
+     * o que foi escrito.
+     */
+    public final class PendingResult implements AutoCloseable {
+
+        private final String fileName;
+        private final Path path;
+        private final Path partPath;
+        private final long memoryThreshold = properties.getMemoryThreshold().toBytes();
+        private final OutputStream outputStream = new ResultOutputStream();
+        private final GZIPOutputStream gzip;
+
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private OutputStream file;
+        private long size;
+        private boolean committed;
+
+        private PendingResult(String fileName, boolean compressed) throws IOException {
+            this.fileName = fileName;
+            this.path = resolve(fileName);
+            this.partPath = path.resolveSibling(fileName + PART_SUFFIX);
+            this.gzip = compressed ? new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE) {
+                {
+                    def.setLevel(properties.getCompressionLevel());
+                }
+            } : null;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Stream onde o conversor escreve; pode ser fechado pelo próprio conversor
+         */
+        public OutputStream getOutputStream() {
+            return gzip != null ? gzip : outputStream;
+        }
+
+        /**
+         * Publica o resultado no índice
+         *
+         * @return Tamanho do resultado em bytes
+         */
+        public long commit() throws IOException {
+            if (gzip != null) {
+                // Escreve o trailer do gzip; não faz nada se o conversor já fechou o stream
+                gzip.close();
+            }
+            if (memory != null && !reserveMemory(size)) {
+                spill();
+            }
+            if (file != null) {
+                file.close();
+                Files.move(partPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                register(new StoredResult(fileName, size, path, null, Instant.now()));
+            } else {
+                boolean registered = false;
+                try {
+                    register(new StoredResult(fileName, size, null, memory.toByteArray(), Instant.now()));
+                    registered = true;
+                } finally {
+                    if (!registered) {
+                        releaseMemory(size);
+                    }
+                }
+            }
+            committed = true;
+            return size;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (committed) {
+                return;
+            }
+            if (gzip != null) {
+                gzip.close();
+            }
+            if (file != null) {
+                file.close();
+            }
+            Files.deleteIfExists(partPath);
+        }
+
+        private void spill() throws IOException {
+            file = new BufferedOutputStream(Files.newOutputStream(partPath));
+            memory.writeTo(file);
+            memory = null;
+        }
+
+        private final class ResultOutputStream extends OutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                if (memory != null && size + 1 > memoryThreshold) {
+                    spill();
+                }
+                if (memory != null) {
+                    memory.write(b);
+                } else {
+                    file.write(b);
+                }
+                size++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (memory != null && size + len > memoryThreshold) {
+                    spill();
+                }
+                if (memory != null) {
+                    memory.write(b, off, len);
+                } else {
+                    file.write(b, off, len);
+                }
+                size += len;
+            }
+
+            @Override
+            public void flush() throws IOException {
+                if (file != null) {
+                    file.flush();
+                }
+            }
+        }
+    }
+}
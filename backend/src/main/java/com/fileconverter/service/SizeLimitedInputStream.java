@@ -0,0 +1,75 @@
+package com.fileconverter.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream que falha assim que mais de maxBytes forem lidos
+ *
+ * Os conversores podem embrulhar a IOException (o commons-csv usa
+ * UncheckedIOException), então o estouro também fica registrado em
+ * {@link #isExceeded()} para ser verificado após a conversão.
+ */
+class SizeLimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final String description;
+    private long count;
+    private boolean exceeded;
+
+    SizeLimitedInputStream(InputStream in, long maxBytes) {
+        this(in, maxBytes, "Upload");
+    }
+
+    /**
+     * @param description Início da mensagem de erro ("Upload", "Decompressed input"...)
+     */
+    SizeLimitedInputStream(InputStream in, long maxBytes, String description) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.description = description;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = super.read(b, off, len);
+        if (read > 0) {
+            count(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    boolean isExceeded() {
+        return exceeded;
+    }
+
+    private void count(long bytes) throws IOException {
+        count += bytes;
+        if (count > maxBytes) {
+            exceeded = true;
+            throw new IOException(description + " exceeds the maximum size of " + maxBytes + " bytes");
+        }
+    }
+}
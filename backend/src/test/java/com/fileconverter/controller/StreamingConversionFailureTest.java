@@ -0,0 +1,84 @@
+package com.fileconverter.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Falha de conversão depois que a resposta do /stream já foi comprometida
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "file.output.directory=${java.io.tmpdir}/file-converter-test/")
+class StreamingConversionFailureTest {
+
+    private static final String BOUNDARY = "test-boundary";
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void failureAfterFirstChunkAbortsTheConnection() throws Exception {
+        // Bem mais que os 8KB do DeferredResponseOutputStream antes do erro na última linha
+        StringBuilder csv = new StringBuilder("id,name,value\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append(i).append(",name ").append(i).append(',').append(i * 0.5).append('\n');
+        }
+        csv.append("9999,\"unterminated,1\n");
+
+        HttpRequest request = streamRequest(csv.toString(), "CSV_TO_JSON");
+        IOException e = assertThrows(IOException.class,
+                () -> client.send(request, HttpResponse.BodyHandlers.ofByteArray()));
+        assertNotNull(e.getMessage());
+    }
+
+    @Test
+    void failureBeforeFirstChunkReturnsErrorResponse() throws Exception {
+        HttpResponse<String> response = client.send(streamRequest("id,name\n1,\"unterminated\n", "CSV_TO_JSON"),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(500, response.statusCode());
+        assertTrue(response.body().contains("\"success\":false"), response.body());
+    }
+
+    @Test
+    void successfulConversionIsComplete() throws Exception {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < 2000; i++) {
+            csv.append(i).append(",name ").append(i).append('\n');
+        }
+        HttpResponse<String> response = client.send(streamRequest(csv.toString(), "CSV_TO_JSON"),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().endsWith("} ]"), () -> response.body().substring(response.body().length() - 20));
+    }
+
+    private HttpRequest streamRequest(String csv, String conversionType) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"conversionType\"\r\n\r\n"
+                + conversionType + "\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"data.csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(csv.getBytes(StandardCharsets.UTF_8));
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/convert/stream"))
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.fileconverter.converter;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.exception.FileConversionException;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvToArrowConverterTest {
+
+    /** 20 inteiros na amostra e um valor de texto depois dela */
+    private static final byte[] MISMATCHED_CSV = csvWithLateText();
+
+    @Test
+    void widensColumnToStringOnTypeMismatchByDefault() throws Exception {
+        ConverterProperties properties = properties();
+        assertEquals(ConverterProperties.TypeMismatch.WIDEN, properties.getCsvToArrow().getTypeMismatch());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new CsvToArrowConverter(properties).convert(new ByteArrayInputStream(MISMATCHED_CSV), output);
+
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(output.toByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertTrue(reader.loadNextBatch());
+            VarCharVector ids = (VarCharVector) root.getVector("id");
+            assertEquals(21, root.getRowCount());
+            assertEquals("19", ids.getObject(19).toString());
+            assertEquals("abc", ids.getObject(20).toString());
+        }
+    }
+
+    @Test
+    void widensIntegerColumnToDoubleAcrossBatches() throws Exception {
+        StringBuilder csv = new StringBuilder("id,amount,note\n");
+        for (int i = 0; i < 100; i++) {
+            csv.append(i).append(',').append(i).append(",\"a, \"\"quoted\"\"\nnote\"\n");
+        }
+        csv.append("100,2.5,\n");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new CsvToArrowConverter(properties()).convert(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)), output);
+
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(output.toByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertInstanceOf(BigIntVector.class, root.getVector("id"));
+            List<Double> amounts = new ArrayList<>();
+            List<String> notes = new ArrayList<>();
+            while (reader.loadNextBatch()) {
+                Float8Vector amount = (Float8Vector) root.getVector("amount");
+                VarCharVector note = (VarCharVector) root.getVector("note");
+                for (int row = 0; row < root.getRowCount(); row++) {
+                    amounts.add(amount.get(row));
+                    notes.add(note.getObject(row).toString());
+                }
+            }
+            assertEquals(101, amounts.size());
+            assertEquals(99.0, amounts.get(99));
+            assertEquals(2.5, amounts.get(100));
+            assertEquals("a, \"quoted\"\nnote", notes.get(50));
+            assertEquals("", notes.get(100));
+        }
+    }
+
+    @Test
+    void failsWhenWideningSpillExceedsLimit() {
+        ConverterProperties properties = properties();
+        properties.getCsvToArrow().setMaxSpillSize(DataSize.ofBytes(4));
+        assertThrows(FileConversionException.class,
+                () -> new CsvToArrowConverter(properties).convert(new ByteArrayInputStream(MISMATCHED_CSV),
+                        new ByteArrayOutputStream()));
+    }
+
+    @Test
+    void widensToTheNarrowestTypeAcceptingTheValue() {
+        assertEquals(ArrowColumnType.INTEGER, ArrowColumnType.INTEGER.widen("42"));
+        assertEquals(ArrowColumnType.DOUBLE, ArrowColumnType.INTEGER.widen("4.2e1"));
+        assertEquals(ArrowColumnType.STRING, ArrowColumnType.INTEGER.widen("007"));
+        assertEquals(ArrowColumnType.STRING, ArrowColumnType.DOUBLE.widen("x"));
+        assertEquals(ArrowColumnType.STRING, ArrowColumnType.BOOLEAN.widen("1"));
+        assertEquals(ArrowColumnType.STRING, ArrowColumnType.TIMESTAMP.widen("2024-13-01"));
+    }
+
+    @Test
+    void failsOnTypeMismatchWhenConfigured() {
+        ConverterProperties properties = properties();
+        properties.getCsvToArrow().setTypeMismatch(ConverterProperties.TypeMismatch.FAIL);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new CsvToArrowConverter(properties).convert(new ByteArrayInputStream(MISMATCHED_CSV),
+                        new ByteArrayOutputStream()));
+        assertTrue(e.getMessage().contains("'abc'"), e.getMessage());
+        assertTrue(e.getMessage().contains("row 21"), e.getMessage());
+    }
+
+    @Test
+    void writesNullOnTypeMismatchWhenConfigured() throws Exception {
+        ConverterProperties properties = properties();
+        properties.getCsvToArrow().setTypeMismatch(ConverterProperties.TypeMismatch.NULL);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new CsvToArrowConverter(properties).convert(new ByteArrayInputStream(MISMATCHED_CSV), output);
+
+        try (BufferAllocator allocator = new RootAllocator();
+             ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(output.toByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertTrue(reader.loadNextBatch());
+            BigIntVector ids = (BigIntVector) root.getVector("id");
+            assertEquals(21, root.getRowCount());
+            assertEquals(19, ids.get(19));
+            assertTrue(ids.isNull(20));
+        }
+    }
+
+    @Test
+    void infersBooleansOnlyFromLowercaseLiterals() {
+        assertEquals(ArrowColumnType.BOOLEAN, ArrowColumnType.infer(sample("true", "false", ""), 0));
+        assertEquals(ArrowColumnType.STRING, ArrowColumnType.infer(sample("true", "TRUE"), 0));
+        assertEquals(ArrowColumnType.STRING, ArrowColumnType.infer(sample("True", "False"), 0));
+    }
+
+    private static ConverterProperties properties() {
+        ConverterProperties properties = new ConverterProperties();
+        properties.getCsvToArrow().setSampleRows(20);
+        properties.getCsvToArrow().setBatchRows(64);
+        return properties;
+    }
+
+    private static List<String[]> sample(String... values) {
+        return Arrays.stream(values).map(value -> new String[]{value}).toList();
+    }
+
+    private static byte[] csvWithLateText() {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < 20; i++) {
+            csv.append(i).append(",name ").append(i).append('\n');
+        }
+        csv.append("abc,late\n");
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
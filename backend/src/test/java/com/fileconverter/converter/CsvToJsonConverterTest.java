@@ -0,0 +1,198 @@
+package com.fileconverter.converter;
+
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.model.ConversionOptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvToJsonConverterTest {
+
+    private static final JacksonCodecs CODECS = new JacksonCodecs();
+
+    @Test
+    void streamsRecordsWithoutBufferingTheInput() throws Exception {
+        // Configuração padrão (paralelismo = número de CPUs); tamanho desconhecido, como em um upload chunked
+        long rows = 2_000_000;
+        GeneratedCsv input = new GeneratedCsv(rows);
+        FirstWriteProbe output = new FirstWriteProbe(input);
+        CsvToJsonConverter converter = new CsvToJsonConverter(new ConverterProperties(), CODECS);
+
+        try (RowCounter counter = RowCounter.open()) {
+            converter.convert(input, output, ConversionOptions.defaults());
+            assertEquals(rows, counter.get());
+        } finally {
+            converter.shutdown();
+        }
+
+        // A saída começa logo no início da leitura, antes do fim da entrada
+        assertTrue(output.inputReadAtFirstWrite < 1024 * 1024,
+                () -> "First output after " + output.inputReadAtFirstWrite + " input bytes");
+        assertTrue(input.bytesRead > 50L * 1024 * 1024);
+    }
+
+    @Test
+    void smallKnownSizeStreamsWithDefaultParallelism() throws Exception {
+        GeneratedCsv input = new GeneratedCsv(200_000);
+        FirstWriteProbe output = new FirstWriteProbe(input);
+        CsvToJsonConverter converter = new CsvToJsonConverter(new ConverterProperties(), CODECS);
+
+        try {
+            converter.convert(input, output, ConversionOptions.builder().inputSize(6L * 1024 * 1024).build());
+        } finally {
+            converter.shutdown();
+        }
+        assertTrue(output.inputReadAtFirstWrite < 1024 * 1024,
+                () -> "First output after " + output.inputReadAtFirstWrite + " input bytes");
+    }
+
+    @Test
+    void parallelModeReadsAtMostTheChunksInFlight() throws Exception {
+        int parallelism = 4;
+        long chunkSize = DataSize.ofKilobytes(16).toBytes();
+        GeneratedCsv input = new GeneratedCsv(200_000);
+        FirstWriteProbe output = new FirstWriteProbe(input);
+        CsvToJsonConverter converter = converter(parallelism, true);
+
+        try (RowCounter counter = RowCounter.open()) {
+            converter.convert(input, output, ConversionOptions.builder().inputSize(Long.MAX_VALUE).build());
+            assertEquals(200_000, counter.get());
+        } finally {
+            converter.shutdown();
+        }
+        // (parallelism + 2) blocos em andamento mais o próximo, além do buffer de leitura de 64KB do CsvChunker
+        assertTrue(output.inputReadAtFirstWrite <= (parallelism + 3) * chunkSize + 64 * 1024,
+                () -> "First output after " + output.inputReadAtFirstWrite + " input bytes");
+    }
+
+    @Test
+    void parallelOutputIsIdenticalToSequential() throws Exception {
+        byte[] csv = randomCsv(new Random(42), 20_000);
+        for (boolean compact : new boolean[]{false, true}) {
+            for (boolean byteTokenizer : new boolean[]{true, false}) {
+                ConversionOptions options = ConversionOptions.builder()
+                        .compact(compact)
+                        .inputSize(csv.length)
+                        .build();
+                byte[] sequential = convert(converter(1, byteTokenizer), csv, options);
+                byte[] parallel = convert(converter(4, byteTokenizer), csv, options);
+                assertArrayEquals(sequential, parallel,
+                        "compact=" + compact + ", byteTokenizer=" + byteTokenizer);
+            }
+        }
+    }
+
+    private static CsvToJsonConverter converter(int parallelism, boolean byteTokenizer) {
+        ConverterProperties properties = new ConverterProperties();
+        properties.getCsv().setByteTokenizer(byteTokenizer);
+        properties.getCsvToJson().setParallelism(parallelism);
+        properties.getCsvToJson().setParallelThreshold(DataSize.ofKilobytes(64));
+        properties.getCsvToJson().setChunkSize(DataSize.ofKilobytes(16));
+        return new CsvToJsonConverter(properties, CODECS);
+    }
+
+    private static byte[] convert(CsvToJsonConverter converter, byte[] csv, ConversionOptions options)
+            throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            converter.convert(new ByteArrayInputStream(csv), output, options);
+        } finally {
+            converter.shutdown();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * CSV com aspas, quebras de linha entre aspas, CRLF, acentos, emoji e linhas curtas
+     */
+    static byte[] randomCsv(Random random, int rows) {
+        String[] values = {"plain", "  padded  ", "\"quoted, with comma\"", "\"multi\nline\"", "\"a \"\"quote\"\"\"",
+                "ação", "日本語", "emoji 😀", "", "12345", "-1.5e10", "\"\r\n\""};
+        StringBuilder csv = new StringBuilder("id,name,value,notes\n");
+        for (int row = 0; row < rows; row++) {
+            int columns = random.nextInt(10) == 0 ? 2 : 4;
+            csv.append(row);
+            for (int column = 1; column < columns; column++) {
+                csv.append(',').append(values[random.nextInt(values.length)]);
+            }
+            csv.append(random.nextBoolean() ? "\n" : "\r\n");
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * CSV gerado sob demanda, sem ficar inteiro em memória
+     */
+    private static final class GeneratedCsv extends InputStream {
+
+        private final long rows;
+        private byte[] line = "id,name,value\n".getBytes(StandardCharsets.UTF_8);
+        private int linePosition;
+        private long row;
+        private long bytesRead;
+
+        GeneratedCsv(long rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int read = 0;
+            while (read < len) {
+                if (linePosition == line.length) {
+                    if (row == rows) {
+                        break;
+                    }
+                    line = (row + ",name " + row + "," + (row * 0.25) + "\n").getBytes(StandardCharsets.UTF_8);
+                    linePosition = 0;
+                    row++;
+                }
+                int n = Math.min(len - read, line.length - linePosition);
+                System.arraycopy(line, linePosition, b, off + read, n);
+                linePosition += n;
+                read += n;
+            }
+            bytesRead += read;
+            return read == 0 && len > 0 ? -1 : read;
+        }
+    }
+
+    /**
+     * Descarta a saída, registrando quantos bytes da entrada tinham sido lidos na primeira escrita
+     */
+    private static final class FirstWriteProbe extends OutputStream {
+
+        private final GeneratedCsv input;
+        private long inputReadAtFirstWrite = -1;
+
+        FirstWriteProbe(GeneratedCsv input) {
+            this.input = input;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (inputReadAtFirstWrite < 0 && len > 0) {
+                inputReadAtFirstWrite = input.bytesRead;
+            }
+        }
+    }
+}
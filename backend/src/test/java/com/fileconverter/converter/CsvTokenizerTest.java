@@ -0,0 +1,290 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fileconverter.config.ConverterProperties;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o CsvTokenizer com o CSVParser do commons-csv, que ele reproduz
+ */
+class CsvTokenizerTest {
+
+    private static final String[] PIECES = {"a", "b", "xyz", " ", "  ", "\t", ",", ",", "\"", "\"\"", "\r", "\n",
+            "\r\n", "é", "€", "😀", " ", "　", "\u0001", "1"};
+    private static final byte[][] INVALID_UTF8 = {{(byte) 0xE2}, {(byte) 0xFF}, {(byte) 0xC3},
+            {(byte) 0xED, (byte) 0xA0, (byte) 0x80}};
+    private static final int[] READ_SIZES = {1, 2, 3, 5, 64 * 1024};
+
+    private static final JacksonCodecs CODECS = new JacksonCodecs();
+    private static final CsvToJsonConverter WITH_TOKENIZER = csvToJsonConverter(true);
+    private static final CsvToJsonConverter WITHOUT_TOKENIZER = csvToJsonConverter(false);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "a,b,c",
+            "a,b,c\n1,2,3\n",
+            "a,b\r\n1,2\r\n",
+            "a,b\r1,2\r",
+            "a,b\n\n\r\n\r1,2\n\n",
+            "a,,c\n,\n,,",
+            "\"quoted\",\"with, comma\"\n",
+            "\"a \"\"quote\"\"\",x",
+            "\"multi\nline\",\"cr\rlf\r\n\"\nnext,row",
+            "\"\"\n\"\",\"\"",
+            "x\"y,\"z\"",
+            "\"closed\"   ,next",
+            "\"closed\" 　,next",
+            "\"closed\"x,next",
+            "\"closed\"é,next",
+            "\"never closed",
+            "a,\"never\nclosed\r\n",
+            "  padded  ,\t tab \t,\u0001ctl\u0001",
+            " \"quoted after space\" ,x",
+            "ação,日本語,emoji 😀\n€, nbsp ,x",
+            "a,b,",
+            "a,b,\n"
+    })
+    void matchesCommonsCsv(String csv) {
+        assertSameAsCommons(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void invalidUtf8MatchesCommonsCsv() {
+        for (byte[] invalid : INVALID_UTF8) {
+            ByteArrayOutputStream csv = new ByteArrayOutputStream();
+            csv.writeBytes("a,".getBytes(StandardCharsets.UTF_8));
+            csv.writeBytes(invalid);
+            csv.writeBytes(",\"q".getBytes(StandardCharsets.UTF_8));
+            csv.writeBytes(invalid);
+            csv.writeBytes("\"\nb".getBytes(StandardCharsets.UTF_8));
+            csv.writeBytes(invalid);
+            assertSameAsCommons(csv.toByteArray());
+        }
+    }
+
+    @Test
+    void randomInputsMatchCommonsCsv() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            assertSameAsCommons(randomInput(random, "", 40, true));
+        }
+    }
+
+    @Test
+    void readsHeaderLikeCommonsCsv() throws Exception {
+        CSVFormat format = CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim();
+        byte[] csv = " Id ,Name,\"Multi\nLine\",value\n1,2,3,4\n".getBytes(StandardCharsets.UTF_8);
+
+        try (CSVParser expected = new CSVParser(reader(csv), format);
+             CsvTokenizer tokenizer = new CsvTokenizer(new ByteArrayInputStream(csv), format);
+             CSVParser actual = tokenizer.readHeader(format)) {
+            assertEquals(expected.getHeaderMap(), actual.getHeaderMap());
+            assertEquals(expected.getHeaderNames(), actual.getHeaderNames());
+            assertTrue(tokenizer.next());
+            assertEquals(List.of("1", "2", "3", "4"), fields(tokenizer));
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedFormats() {
+        assertTrue(CsvTokenizer.supports(CSVFormat.DEFAULT.withTrim()));
+        assertFalse(CsvTokenizer.supports(CSVFormat.DEFAULT.withEscape('\\')));
+        assertFalse(CsvTokenizer.supports(CSVFormat.DEFAULT.withCommentMarker('#')));
+        assertFalse(CsvTokenizer.supports(CSVFormat.DEFAULT.withDelimiter('§')));
+        assertFalse(CsvTokenizer.supports(CSVFormat.DEFAULT.withIgnoreEmptyLines(false)));
+        assertFalse(CsvTokenizer.supports(CSVFormat.DEFAULT.withNullString("")));
+    }
+
+    @Test
+    void csvToJsonOutputIsIdenticalWithAndWithoutTokenizer() {
+        Random random = new Random(7);
+        List<byte[]> inputs = new ArrayList<>();
+        inputs.add(CsvToJsonConverterTest.randomCsv(random, 2_000));
+        for (int i = 0; i < 5_000; i++) {
+            String header = "h" + random.nextInt(3) + ",H" + random.nextInt(2) + ", z \n";
+            inputs.add(randomInput(random, header, 60, false));
+        }
+
+        for (byte[] csv : inputs) {
+            for (boolean tokenBuffer : new boolean[]{false, true}) {
+                String expected = csvToJson(csv, false, tokenBuffer);
+                String actual = csvToJson(csv, true, tokenBuffer);
+                assertEquals(expected, actual, () -> "tokenBuffer=" + tokenBuffer + ", input=" + Arrays.toString(csv));
+            }
+        }
+    }
+
+    private static void assertSameAsCommons(byte[] csv) {
+        for (boolean trim : new boolean[]{false, true}) {
+            CSVFormat format = CSVFormat.DEFAULT.withTrim(trim);
+            Object expected = commonsRecords(csv, format);
+            for (int readSize : READ_SIZES) {
+                assertEquals(expected, tokenizerRecords(csv, format, readSize),
+                        () -> "trim=" + trim + ", readSize=" + readSize + ", input=" + Arrays.toString(csv));
+            }
+            assertEquals(expected, tokenizerRecords(csv, format, 0),
+                    () -> "trim=" + trim + ", chunk, input=" + Arrays.toString(csv));
+        }
+    }
+
+    /**
+     * Registros lidos pelo commons-csv, ou a mensagem do erro de leitura
+     */
+    private static Object commonsRecords(byte[] csv, CSVFormat format) {
+        List<List<String>> records = new ArrayList<>();
+        try (CSVParser parser = new CSVParser(reader(csv), format)) {
+            for (CSVRecord csvRecord : parser) {
+                List<String> fields = new ArrayList<>();
+                csvRecord.forEach(fields::add);
+                records.add(fields);
+            }
+            return records;
+        } catch (Exception e) {
+            return "error: " + rootMessage(e);
+        }
+    }
+
+    /**
+     * Registros lidos pelo CsvTokenizer em leituras de readSize bytes, ou de um bloco em memória se readSize = 0
+     */
+    private static Object tokenizerRecords(byte[] csv, CSVFormat format, int readSize) {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvTokenizer tokenizer = readSize == 0
+                ? new CsvTokenizer(csv, format)
+                : new CsvTokenizer(new ShortReadInputStream(csv, readSize), format)) {
+            while (tokenizer.next()) {
+                records.add(fields(tokenizer));
+                for (int i = 0; i < tokenizer.size(); i++) {
+                    assertBmpUtf8(tokenizer, i);
+                }
+            }
+            return records;
+        } catch (Exception e) {
+            return "error: " + rootMessage(e);
+        }
+    }
+
+    private static List<String> fields(CsvTokenizer tokenizer) {
+        List<String> fields = new ArrayList<>();
+        for (int i = 0; i < tokenizer.size(); i++) {
+            fields.add(tokenizer.get(i));
+        }
+        return fields;
+    }
+
+    /**
+     * isBmpUtf8 deve ser verdadeiro só quando os bytes do campo são a codificação exata de uma String sem surrogates
+     */
+    private static void assertBmpUtf8(CsvTokenizer tokenizer, int field) {
+        String value = tokenizer.get(field);
+        byte[] bytes = Arrays.copyOfRange(tokenizer.buffer(), tokenizer.start(field),
+                tokenizer.start(field) + tokenizer.length(field));
+        boolean expected = value.codePoints().allMatch(Character::isBmpCodePoint)
+                && Arrays.equals(value.getBytes(StandardCharsets.UTF_8), bytes);
+        assertEquals(expected, tokenizer.isBmpUtf8(field), () -> "isBmpUtf8 for " + Arrays.toString(bytes));
+    }
+
+    private static CsvToJsonConverter csvToJsonConverter(boolean byteTokenizer) {
+        ConverterProperties properties = new ConverterProperties();
+        properties.getCsv().setByteTokenizer(byteTokenizer);
+        properties.getCsvToJson().setParallelism(1);
+        return new CsvToJsonConverter(properties, CODECS);
+    }
+
+    private static String csvToJson(byte[] csv, boolean byteTokenizer, boolean tokenBuffer) {
+        CsvToJsonConverter converter = byteTokenizer ? WITH_TOKENIZER : WITHOUT_TOKENIZER;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            if (tokenBuffer) {
+                // Conversões encadeadas escrevem em um TokenBuffer, que recebe Strings em vez de bytes
+                TokenBuffer buffer = new TokenBuffer(null, false);
+                converter.writeTokens(new ByteArrayInputStream(csv), buffer);
+                try (JsonGenerator generator = CODECS.createGenerator(output, true)) {
+                    buffer.serialize(generator);
+                }
+            } else {
+                converter.convert(new ByteArrayInputStream(csv), output);
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            return "error: " + rootMessage(e);
+        }
+    }
+
+    private static byte[] randomInput(Random random, String header, int maxPieces, boolean allQuotes) {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        csv.writeBytes(header.getBytes(StandardCharsets.UTF_8));
+        int pieces = random.nextInt(maxPieces);
+        for (int i = 0; i < pieces; i++) {
+            String piece = PIECES[random.nextInt(PIECES.length)];
+            // Sem aspas em excesso, a maior parte das entradas é CSV válido
+            if (!allQuotes && piece.contains("\"") && random.nextInt(4) != 0) {
+                continue;
+            }
+            if (random.nextInt(30) == 0) {
+                csv.writeBytes(INVALID_UTF8[random.nextInt(INVALID_UTF8.length)]);
+            } else {
+                csv.writeBytes(piece.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return csv.toByteArray();
+    }
+
+    private static InputStreamReader reader(byte[] csv) {
+        return new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * O commons-csv embrulha os erros de leitura ("IOException reading next record"); compara só a causa
+     */
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    /**
+     * Entrega no máximo readSize bytes por leitura, para exercitar as fronteiras do buffer do tokenizer
+     */
+    private static final class ShortReadInputStream extends InputStream {
+
+        private final ByteArrayInputStream delegate;
+        private final int readSize;
+
+        ShortReadInputStream(byte[] content, int readSize) {
+            this.delegate = new ByteArrayInputStream(content);
+            this.readSize = readSize;
+        }
+
+        @Override
+        public int read() {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return delegate.read(b, off, Math.min(len, readSize));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fileconverter.converter;
+
+import com.fileconverter.config.ConverterProperties;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonToPdfConverterTest {
+
+    private static final JacksonCodecs CODECS = new JacksonCodecs();
+
+    @Test
+    void rendersAllRowsForAnyFlushInterval() throws Exception {
+        byte[] json = jsonArray(250);
+        for (int flushRows : new int[]{-1, 0, 1, 100}) {
+            ConverterProperties properties = new ConverterProperties();
+            properties.getJsonToPdf().setFlushRows(flushRows);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+            try (RowCounter counter = RowCounter.open()) {
+                new JsonToPdfConverter(properties, CODECS).convert(new ByteArrayInputStream(json), output);
+                assertEquals(250, counter.get(), "flushRows=" + flushRows);
+            }
+            try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(output.toByteArray())))) {
+                assertTrue(pdf.getNumberOfPages() > 1, "flushRows=" + flushRows);
+            }
+        }
+    }
+
+    private static byte[] jsonArray(int rows) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"row ").append(i).append("\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,133 @@
+package com.fileconverter.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fileconverter.config.ConverterProperties;
+import com.fileconverter.exception.FileConversionException;
+import com.fileconverter.model.ConversionOptions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XmlToJsonConverterTest {
+
+    private static final JacksonCodecs CODECS = new JacksonCodecs();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void groupsNonAdjacentRepeatedSiblingsLikeTheTreePath() throws Exception {
+        String[] documents = {
+                "<r><a>1</a><b>2</b><a>3</a></r>",
+                "<r><a>1</a><a>2</a><b>x</b><a>3</a><c/><b>y</b></r>",
+                "<r id=\"7\"><item><n>1</n><t>x</t><n>2</n></item><other/><item><n>3</n></item></r>",
+                "<r>text<a>1</a>more<b>2</b></r>",
+                "<r><a><x>1</x></a><b/><a><x>2</x><y>3</y><x>4</x></a></r>",
+        };
+        for (String xml : documents) {
+            assertEquals(convert(xml, tree()), convert(xml, properties(10_000)), xml);
+        }
+    }
+
+    @Test
+    void groupsRepeatedSiblingsWithinTheBufferLimit() throws Exception {
+        String xml = "<r><a>1</a><b>2</b><a>3</a></r>";
+        assertEquals(convert(xml, tree()), convert(xml, properties(3)));
+    }
+
+    @Test
+    void streamsAdjacentSiblingsPastTheBufferLimit() throws Exception {
+        StringBuilder xml = new StringBuilder("<r><head>h</head>");
+        for (int i = 0; i < 50; i++) {
+            xml.append("<row><id>").append(i).append("</id></row>");
+        }
+        xml.append("<tail>t</tail></r>");
+        assertEquals(convert(xml.toString(), tree()), convert(xml.toString(), properties(5)));
+    }
+
+    @Test
+    void failsWhenRepeatedSiblingWasAlreadyWritten() {
+        StringBuilder xml = new StringBuilder("<r><a>1</a>");
+        for (int i = 0; i < 10; i++) {
+            xml.append("<b>").append(i).append("</b>");
+        }
+        xml.append("<a>2</a></r>");
+        FileConversionException e = assertThrows(FileConversionException.class,
+                () -> convert(xml.toString(), properties(5)));
+        assertTrue(e.getMessage().contains("'a'"), e.getMessage());
+    }
+
+    @Test
+    void matchesTheTreePathOnRandomDocuments() throws Exception {
+        Random random = new Random(7);
+        int compared = 0;
+        for (int i = 0; i < 500; i++) {
+            StringBuilder xml = new StringBuilder();
+            randomElement(random, xml, "r", 0);
+            String document = xml.toString();
+            JsonNode expected = convert(document, tree());
+            assertEquals(expected, convert(document, properties(10_000)), document);
+            try {
+                assertEquals(expected, convert(document, properties(4)), document);
+                compared++;
+            } catch (FileConversionException e) {
+                // Com limite baixo, repetições distantes podem não ser agrupáveis
+            }
+        }
+        assertTrue(compared > 100, "Only " + compared + " documents fit the small buffer");
+    }
+
+    @Test
+    void recordsGroupNonAdjacentRepeatedSiblings() throws Exception {
+        String xml = "<rows><row><tag>a</tag><id>1</id><tag>b</tag></row><row><id>2</id></row></rows>";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = CODECS.createGenerator(output, true)) {
+            new XmlToJsonConverter(properties(10_000), CODECS).writeRecords(
+                    new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), generator);
+        }
+        assertEquals(JSON.readTree("[{\"tag\":[\"a\",\"b\"],\"id\":\"1\"},{\"id\":\"2\"}]"),
+                JSON.readTree(output.toByteArray()));
+    }
+
+    private static JsonNode convert(String xml, ConverterProperties properties) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new XmlToJsonConverter(properties, CODECS).convert(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), output,
+                ConversionOptions.builder().compact(true).build());
+        return JSON.readTree(output.toByteArray());
+    }
+
+    /** Elementos com nomes de um alfabeto pequeno, para gerar repetições adjacentes e distantes */
+    private static void randomElement(Random random, StringBuilder xml, String name, int depth) {
+        xml.append('<').append(name);
+        if (random.nextInt(5) == 0) {
+            xml.append(" at=\"").append(random.nextInt(10)).append('"');
+        }
+        xml.append('>');
+        int children = depth < 3 ? random.nextInt(6) : 0;
+        if (children == 0) {
+            xml.append(random.nextInt(100));
+        }
+        for (int i = 0; i < children; i++) {
+            randomElement(random, xml, String.valueOf((char) ('a' + random.nextInt(3))), depth + 1);
+        }
+        xml.append("</").append(name).append('>');
+    }
+
+    private static ConverterProperties properties(int maxBufferedElements) {
+        ConverterProperties properties = new ConverterProperties();
+        properties.getXmlToJson().setMaxBufferedElements(maxBufferedElements);
+        return properties;
+    }
+
+    private static ConverterProperties tree() {
+        ConverterProperties properties = new ConverterProperties();
+        properties.getXmlToJson().setStreaming(false);
+        return properties;
+    }
+}
@@ -0,0 +1,77 @@
+package com.fileconverter.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fileconverter.model.ConversionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "file.output.directory=${java.io.tmpdir}/file-converter-test/",
+        "conversion.batch.parallelism=8",
+        "conversion.batch.max-in-flight=8",
+        "conversion.scheduler.concurrency.CSV_TO_EXCEL=2"
+})
+class BatchConversionServiceTest {
+
+    private static final int ENTRIES = 8;
+
+    @Autowired
+    private BatchConversionService batchConversionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void sameTypeEntriesWaitForSchedulerInsteadOfFailing() throws Exception {
+        // Acima da faixa rápida (256KB), todas as entradas disputam as 2 vagas de CSV_TO_EXCEL
+        byte[] csv = csv(400 * 1024);
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            files.add(new MockMultipartFile("files", "data" + i + ".csv", "text/csv", csv));
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        batchConversionService.convert(files, null, 0, ConversionType.CSV_TO_EXCEL, Map.of(), output);
+
+        JsonNode manifest = manifest(output.toByteArray());
+        assertEquals(ENTRIES, manifest.size());
+        for (JsonNode entry : manifest) {
+            assertTrue(entry.get("success").asBoolean(), () -> "Entry failed: " + entry);
+        }
+    }
+
+    private static byte[] csv(int minBytes) {
+        StringBuilder csv = new StringBuilder("id,name,value\n");
+        for (int row = 0; csv.length() < minBytes; row++) {
+            csv.append(row).append(",name ").append(row).append(',').append(row * 0.5).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private JsonNode manifest(byte[] zip) throws Exception {
+        try (ZipInputStream zipInput = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = zipInput.getNextEntry()) != null) {
+                if (entry.getName().equals(BatchConversionService.MANIFEST_NAME)) {
+                    return objectMapper.readTree(zipInput.readAllBytes());
+                }
+            }
+        }
+        throw new AssertionError("manifest.json not found");
+    }
+}
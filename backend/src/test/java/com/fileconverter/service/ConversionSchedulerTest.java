@@ -0,0 +1,114 @@
+package com.fileconverter.service;
+
+import com.fileconverter.config.ConversionSchedulerProperties;
+import com.fileconverter.exception.ConversionRejectedException;
+import com.fileconverter.model.ConversionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversionSchedulerTest {
+
+    private static final long LARGE_INPUT = DataSize.ofMegabytes(1).toBytes();
+
+    private ConversionSchedulerProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConversionSchedulerProperties();
+        properties.setDefaultConcurrency(1);
+        properties.setQueuedAcquireTimeout(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void immediateAdmissionIsRejectedWhenLaneIsFull() {
+        ConversionScheduler scheduler = new ConversionScheduler(properties);
+
+        try (ConversionScheduler.Permit permit = scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT)) {
+            assertThrows(ConversionRejectedException.class,
+                    () -> scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT));
+        }
+    }
+
+    @Test
+    void queuedAdmissionWaitsForLane() throws Exception {
+        ConversionScheduler scheduler = new ConversionScheduler(properties);
+        ConversionScheduler.Permit first = scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT);
+
+        CompletableFuture<ConversionScheduler.Permit> second = CompletableFuture.supplyAsync(() ->
+                scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT, ConversionScheduler.Admission.QUEUED));
+        Thread.sleep(200);
+        assertFalse(second.isDone());
+
+        first.close();
+        second.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, scheduler.getReservedMemory());
+    }
+
+    @Test
+    void queuedAdmissionWaitsForMemory() throws Exception {
+        properties.setDefaultConcurrency(4);
+        properties.setMemoryBudget(DataSize.ofMegabytes(3));
+        ConversionScheduler scheduler = new ConversionScheduler(properties);
+        ConversionScheduler.Permit first = scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT);
+
+        assertThrows(ConversionRejectedException.class,
+                () -> scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT));
+        CompletableFuture<ConversionScheduler.Permit> second = CompletableFuture.supplyAsync(() ->
+                scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT, ConversionScheduler.Admission.QUEUED));
+        Thread.sleep(200);
+        assertFalse(second.isDone());
+
+        first.close();
+        second.get(5, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void queuedAdmissionWaitingForLaneDoesNotHoldMemory() throws Exception {
+        properties.setMemoryBudget(DataSize.ofMegabytes(5));
+        ConversionScheduler scheduler = new ConversionScheduler(properties);
+        ConversionScheduler.Permit running = scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT);
+
+        CompletableFuture<ConversionScheduler.Permit> queued = CompletableFuture.supplyAsync(() ->
+                scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT, ConversionScheduler.Admission.QUEUED));
+        Thread.sleep(200);
+        assertFalse(queued.isDone());
+        assertEquals(DataSize.ofMegabytes(2).toBytes(), scheduler.getReservedMemory());
+
+        // Outro tipo ainda cabe no orçamento enquanto o job espera pela faixa
+        scheduler.acquire(ConversionType.JSON_TO_CSV, LARGE_INPUT).close();
+
+        running.close();
+        queued.get(5, TimeUnit.SECONDS).close();
+        assertEquals(0, scheduler.getReservedMemory());
+    }
+
+    @Test
+    void queuedAdmissionIsRejectedAfterTimeout() {
+        properties.setQueuedAcquireTimeout(Duration.ofMillis(100));
+        ConversionScheduler scheduler = new ConversionScheduler(properties);
+
+        try (ConversionScheduler.Permit permit = scheduler.acquire(ConversionType.CSV_TO_JSON, LARGE_INPUT)) {
+            assertThrows(ConversionRejectedException.class, () -> scheduler.acquire(ConversionType.CSV_TO_JSON,
+                    LARGE_INPUT, ConversionScheduler.Admission.QUEUED));
+        }
+        assertEquals(0, scheduler.getReservedMemory());
+    }
+
+    @Test
+    void unknownInputSizeIsChargedToMemoryBudget() {
+        properties.setUnknownInputSize(DataSize.ofMegabytes(8));
+        properties.setDefaultMemoryFactor(2.0);
+        ConversionScheduler scheduler = new ConversionScheduler(properties);
+
+        try (ConversionScheduler.Permit permit = scheduler.acquire(ConversionType.CSV_TO_JSON, -1)) {
+            assertEquals(DataSize.ofMegabytes(16).toBytes(), scheduler.getReservedMemory());
+        }
+    }
+}
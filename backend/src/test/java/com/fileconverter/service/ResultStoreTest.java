@@ -0,0 +1,89 @@
+package com.fileconverter.service;
+
+import com.fileconverter.config.ResultStoreProperties;
+import com.fileconverter.model.ResultStoreStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private ResultStore resultStore;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ResultStoreProperties properties = new ResultStoreProperties();
+        properties.setDirectory(directory.toString());
+        properties.setMemoryThreshold(DataSize.ofKilobytes(64));
+        properties.setMaxMemorySize(DataSize.ofKilobytes(256));
+        resultStore = new ResultStore(properties);
+        resultStore.rebuildIndex();
+    }
+
+    @Test
+    void concurrentCommitsStayWithinMemoryTier() throws Exception {
+        int results = 32;
+        byte[] content = new byte[60 * 1024];
+        ExecutorService executor = Executors.newFixedThreadPool(results);
+        CyclicBarrier barrier = new CyclicBarrier(results);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < results; i++) {
+                String fileName = "result" + i + ".json";
+                futures.add(executor.submit(() -> {
+                    try (ResultStore.PendingResult result = resultStore.create(fileName)) {
+                        result.getOutputStream().write(content);
+                        barrier.await();
+                        result.commit();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ResultStoreStats stats = resultStore.getStats();
+        assertEquals(results, stats.getEntries());
+        assertEquals(4, stats.getMemoryEntries());
+        assertEquals(4L * content.length, stats.getMemoryBytes());
+    }
+
+    @Test
+    void singleByteWritesSpillToDisk() throws Exception {
+        int size = 100 * 1024;
+        try (ResultStore.PendingResult result = resultStore.create("bytes.txt")) {
+            OutputStream outputStream = result.getOutputStream();
+            for (int i = 0; i < size; i++) {
+                outputStream.write(i);
+            }
+            assertEquals(size, result.commit());
+        }
+
+        ResultStore.StoredResult stored = resultStore.get("bytes.txt");
+        assertFalse(stored.isInMemory());
+        try (InputStream inputStream = stored.openStream()) {
+            byte[] content = inputStream.readAllBytes();
+            assertEquals(size, content.length);
+            for (int i = 0; i < size; i++) {
+                assertEquals((byte) i, content[i]);
+            }
+        }
+    }
+}
@@ -36,7 +36,18 @@ export class FileConverterComponent implements OnInit {
       { type: 'XML_TO_JSON', description: 'XML para JSON' },
       { type: 'CSV_TO_EXCEL', description: 'CSV para Excel' },
       { type: 'TEXT_TO_PDF', description: 'Texto para PDF' },
-      { type: 'JSON_TO_PDF', description: 'JSON para PDF' }
+      { type: 'JSON_TO_PDF', description: 'JSON para PDF' },
+      { type: 'CSV_TO_XML', description: 'CSV para XML' },
+      { type: 'XML_TO_CSV', description: 'XML para CSV' },
+      { type: 'JSON_TO_EXCEL', description: 'JSON para Excel' },
+      { type: 'JSON_TO_NDJSON', description: 'JSON para NDJSON' },
+      { type: 'NDJSON_TO_JSON', description: 'NDJSON para JSON' },
+      { type: 'CSV_TO_NDJSON', description: 'CSV para NDJSON' },
+      { type: 'NDJSON_TO_CSV', description: 'NDJSON para CSV' },
+      { type: 'XML_TO_NDJSON', description: 'XML para NDJSON' },
+      { type: 'NDJSON_TO_XML', description: 'NDJSON para XML' },
+      { type: 'NDJSON_TO_EXCEL', description: 'NDJSON para Excel' },
+      { type: 'CSV_TO_ARROW', description: 'CSV para Arrow' }
     ];
     
     // Tenta carregar da API (se backend estiver rodando)
@@ -176,6 +187,50 @@ export class FileConverterComponent implements OnInit {
       'JSON_TO_PDF': { 
         expected: ['json'], 
         description: 'arquivo JSON (.json)' 
+      },
+      'CSV_TO_XML': { 
+        expected: ['csv'], 
+        description: 'arquivo CSV (.csv)' 
+      },
+      'XML_TO_CSV': { 
+        expected: ['xml'], 
+        description: 'arquivo XML (.xml)' 
+      },
+      'JSON_TO_EXCEL': { 
+        expected: ['json'], 
+        description: 'arquivo JSON (.json)' 
+      },
+      'JSON_TO_NDJSON': { 
+        expected: ['json'], 
+        description: 'arquivo JSON (.json)' 
+      },
+      'NDJSON_TO_JSON': { 
+        expected: ['ndjson', 'jsonl'], 
+        description: 'arquivo NDJSON (.ndjson)' 
+      },
+      'CSV_TO_NDJSON': { 
+        expected: ['csv'], 
+        description: 'arquivo CSV (.csv)' 
+      },
+      'NDJSON_TO_CSV': { 
+        expected: ['ndjson', 'jsonl'], 
+        description: 'arquivo NDJSON (.ndjson)' 
+      },
+      'XML_TO_NDJSON': { 
+        expected: ['xml'], 
+        description: 'arquivo XML (.xml)' 
+      },
+      'NDJSON_TO_XML': { 
+        expected: ['ndjson', 'jsonl'], 
+        description: 'arquivo NDJSON (.ndjson)' 
+      },
+      'NDJSON_TO_EXCEL': { 
+        expected: ['ndjson', 'jsonl'], 
+        description: 'arquivo NDJSON (.ndjson)' 
+      },
+      'CSV_TO_ARROW': { 
+        expected: ['csv'], 
+        description: 'arquivo CSV (.csv)' 
       }
     };
 
@@ -287,7 +342,18 @@ export class FileConverterComponent implements OnInit {
       'XML_TO_JSON': '.xml',
       'CSV_TO_EXCEL': '.csv',
       'TEXT_TO_PDF': '.txt',
-      'JSON_TO_PDF': '.json'
+      'JSON_TO_PDF': '.json',
+      'CSV_TO_XML': '.csv',
+      'XML_TO_CSV': '.xml',
+      'JSON_TO_EXCEL': '.json',
+      'JSON_TO_NDJSON': '.json',
+      'NDJSON_TO_JSON': '.ndjson',
+      'CSV_TO_NDJSON': '.csv',
+      'NDJSON_TO_CSV': '.ndjson',
+      'XML_TO_NDJSON': '.xml',
+      'NDJSON_TO_XML': '.ndjson',
+      'NDJSON_TO_EXCEL': '.ndjson',
+      'CSV_TO_ARROW': '.csv'
     };
     return formatMap[this.selectedConversionType] || '';
   }
@@ -6,7 +6,18 @@ export enum ConversionType {
   XML_TO_JSON = 'XML_TO_JSON',
   CSV_TO_EXCEL = 'CSV_TO_EXCEL',
   TEXT_TO_PDF = 'TEXT_TO_PDF',
-  JSON_TO_PDF = 'JSON_TO_PDF'
+  JSON_TO_PDF = 'JSON_TO_PDF',
+  CSV_TO_XML = 'CSV_TO_XML',
+  XML_TO_CSV = 'XML_TO_CSV',
+  JSON_TO_EXCEL = 'JSON_TO_EXCEL',
+  JSON_TO_NDJSON = 'JSON_TO_NDJSON',
+  NDJSON_TO_JSON = 'NDJSON_TO_JSON',
+  CSV_TO_NDJSON = 'CSV_TO_NDJSON',
+  NDJSON_TO_CSV = 'NDJSON_TO_CSV',
+  XML_TO_NDJSON = 'XML_TO_NDJSON',
+  NDJSON_TO_XML = 'NDJSON_TO_XML',
+  NDJSON_TO_EXCEL = 'NDJSON_TO_EXCEL',
+  CSV_TO_ARROW = 'CSV_TO_ARROW'
 }
 
 // Interface para resposta de conversão
@@ -35,5 +46,16 @@ export const CONVERSION_DESCRIPTIONS: { [key: string]: string } = {
   XML_TO_JSON: 'XML para JSON',
   CSV_TO_EXCEL: 'CSV para Excel',
   TEXT_TO_PDF: 'Texto para PDF',
-  JSON_TO_PDF: 'JSON para PDF'
+  JSON_TO_PDF: 'JSON para PDF',
+  CSV_TO_XML: 'CSV para XML',
+  XML_TO_CSV: 'XML para CSV',
+  JSON_TO_EXCEL: 'JSON para Excel',
+  JSON_TO_NDJSON: 'JSON para NDJSON',
+  NDJSON_TO_JSON: 'NDJSON para JSON',
+  CSV_TO_NDJSON: 'CSV para NDJSON',
+  NDJSON_TO_CSV: 'NDJSON para CSV',
+  XML_TO_NDJSON: 'XML para NDJSON',
+  NDJSON_TO_XML: 'NDJSON para XML',
+  NDJSON_TO_EXCEL: 'NDJSON para Excel',
+  CSV_TO_ARROW: 'CSV para Arrow'
 };